@@ -1,16 +1,19 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchMode;
 import ru.practicum.shareit.booking.dto.BookingState;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerClientFactory;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -18,46 +21,83 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(ServerClientFactory clientFactory) {
+        super(clientFactory, API_PREFIX);
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size,
+                                              @Nullable String cursor) {
+        return call(HttpMethod.GET, "?" + pageQuery(cursor), userId, pageParameters(state, from, size, cursor), null);
+    }
+
+    public Mono<ResponseEntity<Object>> getBookingsAsync(long userId, BookingState state, Integer from, Integer size,
+                                                         @Nullable String cursor) {
+        return send(HttpMethod.GET, "?" + pageQuery(cursor), userId, pageParameters(state, from, size, cursor), null);
     }
 
     public ResponseEntity<Object> bookItem(long userId, BookItemRequestDto requestDto) {
-        return post("", userId, requestDto);
+        return call(HttpMethod.POST, "", userId, null, requestDto);
+    }
+
+    public Mono<ResponseEntity<Object>> bookItemAsync(long userId, BookItemRequestDto requestDto) {
+        return send(HttpMethod.POST, "", userId, null, requestDto);
+    }
+
+    public ResponseEntity<Object> bookItems(long userId, List<BookItemRequestDto> requestDtos,
+                                            BookingBatchMode mode) {
+        return call(HttpMethod.POST, "/batch?mode={mode}", userId, Map.of("mode", mode.name()), requestDtos);
+    }
+
+    public Mono<ResponseEntity<Object>> bookItemsAsync(long userId, List<BookItemRequestDto> requestDtos,
+                                                       BookingBatchMode mode) {
+        return send(HttpMethod.POST, "/batch?mode={mode}", userId, Map.of("mode", mode.name()), requestDtos);
     }
 
     public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
-        return get("/" + bookingId, userId);
+        return call(HttpMethod.GET, "/" + bookingId, userId, null, null);
+    }
+
+    public Mono<ResponseEntity<Object>> getBookingAsync(long userId, Long bookingId) {
+        return send(HttpMethod.GET, "/" + bookingId, userId, null, null);
     }
 
     public ResponseEntity<Object> update(Long userId, Long bookingId, Boolean approved) {
+        return call(HttpMethod.PATCH, "/" + bookingId + "?approved={approved}", userId,
+                Map.of("approved", approved), null);
+    }
+
+    public Mono<ResponseEntity<Object>> updateAsync(Long userId, Long bookingId, Boolean approved) {
+        return send(HttpMethod.PATCH, "/" + bookingId + "?approved={approved}", userId,
+                Map.of("approved", approved), null);
+    }
 
-        Map<String, Object> parameters = Map.of("approved", approved);
+    public ResponseEntity<Object> getAllByOwner(Long userId, BookingState state, Integer from, Integer size,
+                                                @Nullable String cursor) {
+        return call(HttpMethod.GET, "/owner?" + pageQuery(cursor), userId, pageParameters(state, from, size, cursor),
+                null);
+    }
 
-        return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
+    public Mono<ResponseEntity<Object>> getAllByOwnerAsync(Long userId, BookingState state, Integer from,
+                                                           Integer size, @Nullable String cursor) {
+        return send(HttpMethod.GET, "/owner?" + pageQuery(cursor), userId, pageParameters(state, from, size, cursor),
+                null);
     }
 
-    public ResponseEntity<Object> getAllByOwner(Long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    private static String pageQuery(@Nullable String cursor) {
+        String query = "state={state}&from={from}&size={size}";
+        return cursor == null ? query : query + "&cursor={cursor}";
+    }
+
+    private static Map<String, Object> pageParameters(BookingState state, Integer from, Integer size,
+                                                      @Nullable String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
-        );
-
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return parameters;
     }
-}
\ No newline at end of file
+}
@@ -6,14 +6,20 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchMode;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.util.Constant;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 @Controller
 @RequestMapping(path = "/bookings")
@@ -24,52 +30,66 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @GetMapping
-    public ResponseEntity<Object> getBookings(
+    public Mono<ResponseEntity<Object>> getBookings(
             @RequestHeader((Constant.REQUEST_HEADER_USER_ID)) long userId,
             @RequestParam(name = "state", defaultValue = "all") String stateParam,
             @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-            @Positive @RequestParam(name = "size", defaultValue = "10") @Min(1) Integer size) {
+            @Positive @RequestParam(name = "size", defaultValue = "10") @Min(1) Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getBookings(userId, state, from, size);
+        log.info("Get booking with state {}, userId={}, from={}, size={}, cursor={}", stateParam, userId, from, size,
+                cursor);
+        return bookingClient.getBookingsAsync(userId, state, from, size, cursor);
     }
 
     @Validated
     @PostMapping
-    public ResponseEntity<Object> bookItem(
+    public Mono<ResponseEntity<Object>> bookItem(
             @RequestHeader((Constant.REQUEST_HEADER_USER_ID)) long userId,
             @RequestBody @Valid BookItemRequestDto requestDto) {
         log.info("Creating booking {}, userId={}", requestDto, userId);
-        return bookingClient.bookItem(userId, requestDto);
+        return bookingClient.bookItemAsync(userId, requestDto);
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> bookItems(
+            @RequestHeader((Constant.REQUEST_HEADER_USER_ID)) long userId,
+            @RequestParam(name = "mode", defaultValue = "all_or_nothing") String modeParam,
+            @RequestBody @NotEmpty @Size(max = Constant.MAX_BATCH_SIZE) List<@Valid BookItemRequestDto> requestDtos) {
+        BookingBatchMode mode = BookingBatchMode.from(modeParam)
+                .orElseThrow(() -> new ValidationException("Unknown mode: " + modeParam));
+        log.info("Creating {} bookings in {} mode, userId={}", requestDtos.size(), mode, userId);
+        return bookingClient.bookItemsAsync(userId, requestDtos, mode);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> update(
+    public Mono<ResponseEntity<Object>> update(
             @RequestHeader((Constant.REQUEST_HEADER_USER_ID)) Long userId,
             @RequestParam("approved") Boolean approved,
             @PathVariable("bookingId") Long bookingId) {
-        return bookingClient.update(userId, bookingId, approved);
+        return bookingClient.updateAsync(userId, bookingId, approved);
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(
+    public Mono<ResponseEntity<Object>> getBooking(
             @RequestHeader((Constant.REQUEST_HEADER_USER_ID)) long userId,
             @PathVariable Long bookingId) {
         log.info("Get booking {}, userId={}", bookingId, userId);
-        return bookingClient.getBooking(userId, bookingId);
+        return bookingClient.getBookingAsync(userId, bookingId);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getAllByOwner(
+    public Mono<ResponseEntity<Object>> getAllByOwner(
             @RequestHeader((Constant.REQUEST_HEADER_USER_ID)) Long userId,
             @RequestParam(value = "state", defaultValue = "ALL") String stateParam,
             @RequestParam(value = "from", required = false, defaultValue = "0") @Min(0) Integer from,
-            @RequestParam(value = "size", required = false, defaultValue = "10") @Min(1) Integer size) {
+            @RequestParam(value = "size", required = false, defaultValue = "10") @Min(1) Integer size,
+            @RequestParam(value = "cursor", required = false) String cursor) {
 
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
 
-        return bookingClient.getAllByOwner(userId, state, from, size);
+        return bookingClient.getAllByOwnerAsync(userId, state, from, size, cursor);
     }
 }
\ No newline at end of file
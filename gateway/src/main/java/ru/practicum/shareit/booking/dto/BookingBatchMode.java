@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.util.Optional;
+
+public enum BookingBatchMode {
+    ALL_OR_NOTHING,
+    PARTIAL;
+
+    public static Optional<BookingBatchMode> from(String stringMode) {
+        for (BookingBatchMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(stringMode)) {
+                return Optional.of(mode);
+            }
+        }
+        return Optional.empty();
+    }
+}
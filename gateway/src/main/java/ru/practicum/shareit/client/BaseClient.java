@@ -1,19 +1,71 @@
 package ru.practicum.shareit.client;
 
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import ru.practicum.shareit.util.Constant;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 public class BaseClient {
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            "connection", "keep-alive", "transfer-encoding", "te", "trailer", "upgrade",
+            "proxy-authenticate", "proxy-authorization", "content-length"
+    );
+    private static final List<String> NOT_MODIFIED_HEADERS = List.of(HttpHeaders.ETAG, HttpHeaders.CACHE_CONTROL);
+
     protected final RestTemplate rest;
+    @Nullable
+    protected final WebClient webClient;
+    private final boolean passthrough;
+    @Nullable
+    private final RequestCoalescer coalescer;
+    private final Scheduler blockingScheduler;
 
     public BaseClient(RestTemplate rest) {
         this.rest = rest;
+        this.webClient = null;
+        this.passthrough = false;
+        this.coalescer = null;
+        this.blockingScheduler = Schedulers.boundedElastic();
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable WebClient webClient, HttpClientProperties properties) {
+        this(rest, webClient, properties, Schedulers.boundedElastic(),
+                properties.isCoalesceGets() ? new RequestCoalescer(properties.getMicroCacheTtl()) : null);
+    }
+
+    public BaseClient(ServerClientFactory clientFactory, String apiPrefix) {
+        this(clientFactory.restTemplate(apiPrefix), clientFactory.webClient(apiPrefix), clientFactory.getProperties(),
+                clientFactory.getBlockingScheduler(), clientFactory.getCoalescer());
+    }
+
+    BaseClient(RestTemplate rest, @Nullable WebClient webClient, HttpClientProperties properties,
+               Scheduler blockingScheduler, @Nullable RequestCoalescer coalescer) {
+        this.rest = rest;
+        this.webClient = webClient;
+        this.passthrough = properties.isPassthrough();
+        this.coalescer = coalescer;
+        this.blockingScheduler = blockingScheduler;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -28,6 +80,74 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
+    protected ResponseEntity<StreamingResponseBody> stream(String path, Long userId, MediaType mediaType,
+                                                           Map<String, Object> parameters) {
+        URI uri = rest.getUriTemplateHandler().expand(path, parameters);
+        ClientHttpResponse response;
+        try {
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, HttpMethod.GET);
+            request.getHeaders().setAccept(List.of(mediaType));
+            if (userId != null) {
+                request.getHeaders().set(Constant.REQUEST_HEADER_USER_ID, String.valueOf(userId));
+            }
+            response = request.execute();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        try {
+            HttpStatus status = response.getStatusCode();
+            MediaType contentType = response.getHeaders().getContentType();
+            if (!status.is2xxSuccessful()) {
+                byte[] errorBody = StreamUtils.copyToByteArray(response.getBody());
+                response.close();
+                return ResponseEntity.status(status)
+                        .contentType(contentType != null ? contentType : MediaType.APPLICATION_JSON)
+                        .body(outputStream -> outputStream.write(errorBody));
+            }
+            return ResponseEntity.status(status)
+                    .contentType(contentType != null ? contentType : mediaType)
+                    .body(outputStream -> {
+                        try (response; InputStream body = response.getBody()) {
+                            StreamUtils.copy(body, outputStream);
+                        }
+                    });
+        } catch (IOException e) {
+            response.close();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    protected ResponseEntity<Object> upload(RestTemplate uploadRest, String path, Long userId, MediaType mediaType,
+                                            StreamingHttpOutputMessage.Body body) {
+        if (coalescer != null) {
+            return coalescer.write(Mono.fromCallable(() -> uploadNow(uploadRest, path, userId, mediaType, body)))
+                    .block();
+        }
+        return uploadNow(uploadRest, path, userId, mediaType, body);
+    }
+
+    private ResponseEntity<Object> uploadNow(RestTemplate uploadRest, String path, Long userId, MediaType mediaType,
+                                             StreamingHttpOutputMessage.Body body) {
+        try {
+            return uploadRest.execute(path, HttpMethod.POST, request -> {
+                request.getHeaders().setContentType(mediaType);
+                request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON));
+                if (userId != null) {
+                    request.getHeaders().set(Constant.REQUEST_HEADER_USER_ID, String.valueOf(userId));
+                }
+                if (request instanceof StreamingHttpOutputMessage) {
+                    ((StreamingHttpOutputMessage) request).setBody(body);
+                } else {
+                    body.writeTo(request.getBody());
+                }
+            }, response -> passthroughResponse(response.getStatusCode(), response.getHeaders(),
+                    StreamUtils.copyToByteArray(response.getBody())));
+        } catch (HttpStatusCodeException e) {
+            return passthroughResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+        }
+    }
+
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -76,8 +196,83 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    /**
+     * Sends the request on the calling thread and waits for the response.
+     */
+    protected <T> ResponseEntity<Object> call(HttpMethod method, String path, @Nullable Long userId,
+                                              @Nullable Map<String, Object> parameters, @Nullable T body) {
+        return request(method, path, userId, parameters, body, false).block();
+    }
+
+    /**
+     * Sends the request without holding the calling thread. In reactive mode the request runs on the WebClient
+     * event loop; in blocking mode the RestTemplate call is moved to the bounded blocking scheduler.
+     */
+    protected <T> Mono<ResponseEntity<Object>> send(HttpMethod method, String path, @Nullable Long userId,
+                                                    @Nullable Map<String, Object> parameters, @Nullable T body) {
+        return request(method, path, userId, parameters, body, true);
+    }
+
+    private <T> Mono<ResponseEntity<Object>> request(HttpMethod method, String path, @Nullable Long userId,
+                                                     @Nullable Map<String, Object> parameters, @Nullable T body,
+                                                     boolean offload) {
+        // headers are read from the incoming request here, while still on the servlet thread
+        HttpHeaders headers = defaultHeaders(userId);
+        String ifNoneMatch = method == HttpMethod.GET ? incomingHeader(HttpHeaders.IF_NONE_MATCH) : null;
+        if (ifNoneMatch != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+
+        if (coalescer == null) {
+            return exchange(method, path, headers, parameters, body, offload);
+        }
+        if (method != HttpMethod.GET) {
+            return coalescer.write(exchange(method, path, headers, parameters, body, offload));
+        }
+        // the coalescer is shared by all clients, so the key is the full URI rather than the path
+        URI uri = rest.getUriTemplateHandler().expand(path, parameters != null ? parameters : Map.of());
+        String key = uri + "|" + userId + "|" + ifNoneMatch;
+        return coalescer.execute(key, () -> exchange(method, path, headers, parameters, null, offload));
+    }
+
+    private <T> Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                      @Nullable Map<String, Object> parameters, @Nullable T body,
+                                                      boolean offload) {
+        if (webClient == null) {
+            Mono<ResponseEntity<Object>> call = Mono.fromCallable(
+                    () -> makeAndSendRequest(method, path, headers, parameters, body));
+            return offload ? call.subscribeOn(blockingScheduler) : call;
+        }
+
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(requestHeaders -> requestHeaders.addAll(headers));
+        WebClient.RequestHeadersSpec<?> requestWithBody = body != null ? request.bodyValue(body) : request;
+
+        return requestWithBody.exchangeToMono(response -> {
+            if (passthrough) {
+                return response.toEntity(byte[].class)
+                        .map(raw -> passthroughResponse(raw.getStatusCode(), raw.getHeaders(), raw.getBody()));
+            }
+            if (response.statusCode().is2xxSuccessful()) {
+                return response.toEntity(Object.class);
+            }
+            return response.toEntity(byte[].class)
+                    .map(error -> prepareGatewayResponse(
+                            new ResponseEntity<>(error.getBody(), error.getHeaders(), error.getStatusCode())));
+        });
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        return makeAndSendRequest(method, path, defaultHeaders(userId), parameters, body);
+    }
+
+    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, HttpHeaders headers,
+                                                          @Nullable Map<String, Object> parameters, @Nullable T body) {
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, headers);
+        if (passthrough) {
+            return exchangeRaw(method, path, parameters, requestEntity);
+        }
 
         ResponseEntity<Object> shareitServerResponse;
         try {
@@ -92,6 +287,41 @@ public class BaseClient {
         return prepareGatewayResponse(shareitServerResponse);
     }
 
+    private <T> ResponseEntity<Object> exchangeRaw(HttpMethod method, String path,
+                                                   @Nullable Map<String, Object> parameters,
+                                                   HttpEntity<T> requestEntity) {
+        try {
+            ResponseEntity<byte[]> response = parameters != null
+                    ? rest.exchange(path, method, requestEntity, byte[].class, parameters)
+                    : rest.exchange(path, method, requestEntity, byte[].class);
+            return passthroughResponse(response.getStatusCode(), response.getHeaders(), response.getBody());
+        } catch (HttpStatusCodeException e) {
+            return passthroughResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+        }
+    }
+
+    private static ResponseEntity<Object> passthroughResponse(HttpStatus status, @Nullable HttpHeaders headers,
+                                                              @Nullable byte[] body) {
+        HttpHeaders passthroughHeaders = new HttpHeaders();
+        if (headers != null) {
+            headers.forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    passthroughHeaders.addAll(name, values);
+                }
+            });
+        }
+        return new ResponseEntity<>(body, passthroughHeaders, status);
+    }
+
+    @Nullable
+    private static String incomingHeader(String name) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes) {
+            return ((ServletRequestAttributes) attributes).getRequest().getHeader(name);
+        }
+        return null;
+    }
+
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -102,12 +332,21 @@ public class BaseClient {
         return headers;
     }
 
-    private ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
         if (response.getStatusCode().is2xxSuccessful()) {
             return response;
         }
 
         ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            // the client keeps using its cached copy, so it still needs the validator and caching policy
+            NOT_MODIFIED_HEADERS.forEach(name -> {
+                List<String> values = response.getHeaders().get(name);
+                if (values != null) {
+                    responseBuilder.header(name, values.toArray(String[]::new));
+                }
+            });
+        }
 
         if (response.hasBody()) {
             return responseBuilder.body(response.getBody());
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for identical GETs, shared by all clients of one gateway. Every write moves the epoch forward when
+ * it starts and again before its response is passed on, and a GET only joins a call, or reuses a micro-cached
+ * response, from the current epoch. So a GET sent after a write has returned never sees data from before it.
+ */
+class RequestCoalescer {
+    private final ConcurrentMap<String, Flight> flights = new ConcurrentHashMap<>();
+    private final AtomicLong epoch = new AtomicLong();
+    private final Duration cacheTtl;
+
+    RequestCoalescer(Duration cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+
+    Mono<ResponseEntity<Object>> execute(String key, Supplier<Mono<ResponseEntity<Object>>> call) {
+        return Mono.defer(() -> {
+            long current = epoch.get();
+            return flights.compute(key, (k, flight) -> flight != null && flight.epoch == current
+                    ? flight
+                    : new Flight(k, current, call.get())).response;
+        });
+    }
+
+    <T> Mono<T> write(Mono<T> call) {
+        return call
+                .doOnSubscribe(subscription -> invalidate())
+                .doOnSuccess(response -> invalidate())
+                .doOnError(e -> invalidate())
+                .doOnCancel(this::invalidate);
+    }
+
+    void invalidate() {
+        long current = epoch.incrementAndGet();
+        flights.values().removeIf(flight -> flight.epoch < current);
+    }
+
+    private final class Flight {
+        private final String key;
+        private final long epoch;
+        private final Mono<ResponseEntity<Object>> response;
+
+        private Flight(String key, long epoch, Mono<ResponseEntity<Object>> call) {
+            this.key = key;
+            this.epoch = epoch;
+            this.response = call
+                    .doOnSuccess(this::release)
+                    .doOnError(e -> flights.remove(key, this))
+                    .cache();
+        }
+
+        private void release(ResponseEntity<Object> response) {
+            if (cacheTtl.isZero() || response == null || !response.getStatusCode().is2xxSuccessful()) {
+                flights.remove(key, this);
+            } else {
+                Schedulers.parallel().schedule(() -> flights.remove(key, this), cacheTtl.toMillis(),
+                        TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+}
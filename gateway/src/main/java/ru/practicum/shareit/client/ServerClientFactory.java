@@ -0,0 +1,86 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.scheduler.Scheduler;
+
+@Component
+public class ServerClientFactory {
+    private final String serverUrl;
+    private final RestTemplateBuilder restTemplateBuilder;
+    private final ClientHttpRequestFactory requestFactory;
+    private final ClientHttpRequestFactory streamingRequestFactory;
+    private final ObjectProvider<WebClient.Builder> webClientBuilder;
+    private final HttpClientProperties properties;
+    private final Scheduler blockingScheduler;
+    @Nullable
+    private final RequestCoalescer coalescer;
+
+    public ServerClientFactory(@Value("${shareit-server.url}") String serverUrl,
+                               RestTemplateBuilder restTemplateBuilder,
+                               ClientHttpRequestFactory requestFactory,
+                               @Qualifier("shareItServerStreamingRequestFactory")
+                               ClientHttpRequestFactory streamingRequestFactory,
+                               ObjectProvider<WebClient.Builder> webClientBuilder,
+                               HttpClientProperties properties,
+                               @Qualifier("shareItServerBlockingScheduler") Scheduler blockingScheduler) {
+        this.serverUrl = serverUrl;
+        this.restTemplateBuilder = restTemplateBuilder;
+        this.requestFactory = requestFactory;
+        this.streamingRequestFactory = streamingRequestFactory;
+        this.webClientBuilder = webClientBuilder;
+        this.properties = properties;
+        this.blockingScheduler = blockingScheduler;
+        this.coalescer = properties.isCoalesceGets() ? new RequestCoalescer(properties.getMicroCacheTtl()) : null;
+    }
+
+    public RestTemplate restTemplate(String apiPrefix) {
+        return restTemplateBuilder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                .requestFactory(() -> requestFactory)
+                .build();
+    }
+
+    /**
+     * Same as {@link #restTemplate(String)}, but request bodies are written straight to the connection
+     * instead of being buffered, for uploads of unbounded size.
+     */
+    public RestTemplate streamingRestTemplate(String apiPrefix) {
+        return restTemplateBuilder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                .requestFactory(() -> streamingRequestFactory)
+                .build();
+    }
+
+    public HttpClientProperties getProperties() {
+        return properties;
+    }
+
+    public Scheduler getBlockingScheduler() {
+        return blockingScheduler;
+    }
+
+    // one instance for all clients, so that a write through any of them invalidates coalesced GETs of the others
+    @Nullable
+    RequestCoalescer getCoalescer() {
+        return coalescer;
+    }
+
+    @Nullable
+    public WebClient webClient(String apiPrefix) {
+        if (properties.getMode() != HttpClientProperties.Mode.REACTIVE) {
+            return null;
+        }
+        return webClientBuilder.getObject()
+                .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                .build();
+    }
+}
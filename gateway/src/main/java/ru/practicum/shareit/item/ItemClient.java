@@ -1,16 +1,22 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerClientFactory;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -18,43 +24,150 @@ import java.util.Map;
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
+    private final RestTemplate uploadRest;
+
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(ServerClientFactory clientFactory) {
+        super(clientFactory, API_PREFIX);
+        this.uploadRest = clientFactory.streamingRestTemplate(API_PREFIX);
+    }
+
+    public ResponseEntity<Object> getAllUserItems(Long userId, Long afterId, @Nullable Integer size) {
+        return call(HttpMethod.GET, ownerItemsPath(size), userId, ownerItemsParameters(afterId, size), null);
     }
 
-    public ResponseEntity<Object> getAllUserItems(Long userId) {
-        return get("", userId);
+    public Mono<ResponseEntity<Object>> getAllUserItemsAsync(Long userId, Long afterId, @Nullable Integer size) {
+        return send(HttpMethod.GET, ownerItemsPath(size), userId, ownerItemsParameters(afterId, size), null);
+    }
+
+    public ResponseEntity<StreamingResponseBody> streamAllUserItems(Long userId, Long afterId, Integer size) {
+        return stream(ownerItemsPath(size), userId, MediaType.APPLICATION_NDJSON, ownerItemsParameters(afterId, size));
     }
 
     public ResponseEntity<Object> getItemById(Long itemId, Long userId) {
-        return get("/" + itemId, userId, null);
+        return call(HttpMethod.GET, "/" + itemId, userId, null, null);
+    }
+
+    public Mono<ResponseEntity<Object>> getItemByIdAsync(Long itemId, Long userId) {
+        return send(HttpMethod.GET, "/" + itemId, userId, null, null);
+    }
+
+    public ResponseEntity<Object> getAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
+        return call(HttpMethod.GET, availabilityPath(itemId), userId, Map.of("from", from, "to", to), null);
+    }
+
+    public Mono<ResponseEntity<Object>> getAvailabilityAsync(Long userId, Long itemId, LocalDateTime from,
+                                                             LocalDateTime to) {
+        return send(HttpMethod.GET, availabilityPath(itemId), userId, Map.of("from", from, "to", to), null);
     }
 
-    public ResponseEntity<Object> getAvailableItemBySearch(Long userId, String text) {
+    public ResponseEntity<Object> getAvailableItemBySearch(Long userId, String text, Integer from,
+                                                           @Nullable Integer size) {
         if (text.isBlank()) return ResponseEntity.ok(List.of());
-        Map<String, Object> parameters = Map.of("text", text);
-        return get("/search?text={text}", userId, parameters);
+        return call(HttpMethod.GET, searchPath(size), userId,
+                searchParameters(text, from, size), null);
+    }
+
+    public Mono<ResponseEntity<Object>> getAvailableItemBySearchAsync(Long userId, String text, Integer from,
+                                                                      @Nullable Integer size) {
+        if (text.isBlank()) return Mono.just(ResponseEntity.ok(List.of()));
+        return send(HttpMethod.GET, searchPath(size), userId,
+                searchParameters(text, from, size), null);
+    }
+
+    public ResponseEntity<Object> getFreeItemBySearch(Long userId, String text, LocalDateTime start,
+                                                      LocalDateTime end, Integer from, @Nullable Integer size) {
+        if (text.isBlank()) return ResponseEntity.ok(List.of());
+        return call(HttpMethod.GET, freeSearchPath(size), userId,
+                freeSearchParameters(text, start, end, from, size), null);
+    }
+
+    public Mono<ResponseEntity<Object>> getFreeItemBySearchAsync(Long userId, String text, LocalDateTime start,
+                                                                 LocalDateTime end, Integer from,
+                                                                 @Nullable Integer size) {
+        if (text.isBlank()) return Mono.just(ResponseEntity.ok(List.of()));
+        return send(HttpMethod.GET, freeSearchPath(size), userId,
+                freeSearchParameters(text, start, end, from, size), null);
     }
 
     public ResponseEntity<Object> addItem(ItemDto itemDto, Long userId) {
-        return post("", userId, itemDto);
+        return call(HttpMethod.POST, "", userId, null, itemDto);
+    }
+
+    public Mono<ResponseEntity<Object>> addItemAsync(ItemDto itemDto, Long userId) {
+        return send(HttpMethod.POST, "", userId, null, itemDto);
+    }
+
+    public ResponseEntity<Object> importItems(Long userId, StreamingHttpOutputMessage.Body rows) {
+        return upload(uploadRest, "/import", userId, MediaType.APPLICATION_NDJSON, rows);
     }
 
     public ResponseEntity<Object> updateItem(Long userId, Long itemId, ItemDto itemDto) {
-        return patch("/" + itemId, userId, itemDto);
+        return call(HttpMethod.PATCH, "/" + itemId, userId, null, itemDto);
+    }
+
+    public Mono<ResponseEntity<Object>> updateItemAsync(Long userId, Long itemId, ItemDto itemDto) {
+        return send(HttpMethod.PATCH, "/" + itemId, userId, null, itemDto);
     }
 
     public ResponseEntity<Object> createComment(CommentDto commentDto, Long userId, Long itemId) {
-        return post("/" + itemId + "/comment", userId, commentDto);
+        return call(HttpMethod.POST, "/" + itemId + "/comment", userId, null, commentDto);
+    }
+
+    public Mono<ResponseEntity<Object>> createCommentAsync(CommentDto commentDto, Long userId, Long itemId) {
+        return send(HttpMethod.POST, "/" + itemId + "/comment", userId, null, commentDto);
     }
 
     public ResponseEntity<Object> removeItem(Long itemId) {
-        return delete("/" + itemId);
+        return call(HttpMethod.DELETE, "/" + itemId, null, null, null);
+    }
+
+    public Mono<ResponseEntity<Object>> removeItemAsync(Long itemId) {
+        return send(HttpMethod.DELETE, "/" + itemId, null, null, null);
+    }
+
+    private static String ownerItemsPath(@Nullable Integer size) {
+        return size == null ? "?afterId={afterId}" : "?afterId={afterId}&size={size}";
+    }
+
+    private static Map<String, Object> ownerItemsParameters(Long afterId, @Nullable Integer size) {
+        return size == null ? Map.of("afterId", afterId) : Map.of("afterId", afterId, "size", size);
+    }
+
+    private static String availabilityPath(Long itemId) {
+        return "/" + itemId + "/availability?from={from}&to={to}";
+    }
+
+    private static String searchPath(@Nullable Integer size) {
+        return size == null ? "/search?text={text}&from={from}" : "/search?text={text}&from={from}&size={size}";
+    }
+
+    private static Map<String, Object> searchParameters(String text, Integer from, @Nullable Integer size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("text", text);
+        parameters.put("from", from);
+        if (size != null) {
+            parameters.put("size", size);
+        }
+        return parameters;
+    }
+
+    private static String freeSearchPath(@Nullable Integer size) {
+        return size == null
+                ? "/search?text={text}&start={start}&end={end}&from={from}"
+                : "/search?text={text}&start={start}&end={end}&from={from}&size={size}";
+    }
+
+    private static Map<String, Object> freeSearchParameters(String text, LocalDateTime start, LocalDateTime end,
+                                                            Integer from, @Nullable Integer size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("text", text);
+        parameters.put("start", start == null ? "" : start);
+        parameters.put("end", end == null ? "" : end);
+        parameters.put("from", from);
+        if (size != null) {
+            parameters.put("size", size);
+        }
+        return parameters;
     }
 }
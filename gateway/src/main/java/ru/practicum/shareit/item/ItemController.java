@@ -1,71 +1,120 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.util.Constant;
 import ru.practicum.shareit.util.Create;
 import ru.practicum.shareit.util.Update;
 
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+
 @Controller
 @RequestMapping("/items")
 @RequiredArgsConstructor
 @Validated
 public class ItemController {
     private final ItemClient itemClient;
+    private final ItemImportConverter itemImportConverter;
 
     @GetMapping
-    public ResponseEntity<Object> getAllUserItems(
-            @RequestHeader((Constant.REQUEST_HEADER_USER_ID)) Long userId) {
-        return itemClient.getAllUserItems(userId);
+    public Mono<ResponseEntity<Object>> getAllUserItems(
+            @RequestHeader((Constant.REQUEST_HEADER_USER_ID)) Long userId,
+            @PositiveOrZero @RequestParam(name = "afterId", defaultValue = "0") Long afterId,
+            @Positive @RequestParam(name = "size", required = false) Integer size) {
+        return itemClient.getAllUserItemsAsync(userId, afterId, size);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllUserItems(
+            @RequestHeader((Constant.REQUEST_HEADER_USER_ID)) Long userId,
+            @PositiveOrZero @RequestParam(name = "afterId", defaultValue = "0") Long afterId,
+            @Positive @RequestParam(name = "size", defaultValue = "100") Integer size) {
+        return itemClient.streamAllUserItems(userId, afterId, size);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> get(
+    public Mono<ResponseEntity<Object>> get(
             @RequestHeader((Constant.REQUEST_HEADER_USER_ID)) Long userId,
             @PathVariable Long itemId) {
-        return itemClient.getItemById(itemId, userId);
+        return itemClient.getItemByIdAsync(itemId, userId);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(
+            @RequestHeader(Constant.REQUEST_HEADER_USER_ID) Long userId,
+            @PathVariable Long itemId,
+            @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemClient.getAvailabilityAsync(userId, itemId, from, to);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItem(
+    public Mono<ResponseEntity<Object>> searchItem(
             @RequestHeader(Constant.REQUEST_HEADER_USER_ID) Long userId,
-            @RequestParam(name = "text") String text) {
-        return itemClient.getAvailableItemBySearch(userId, text);
+            @RequestParam(name = "text") String text,
+            @RequestParam(name = "start", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(name = "end", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @Positive @RequestParam(name = "size", required = false) Integer size) {
+        if (start != null || end != null) {
+            return itemClient.getFreeItemBySearchAsync(userId, text, start, end, from, size);
+        }
+        return itemClient.getAvailableItemBySearchAsync(userId, text, from, size);
     }
 
     @PostMapping
-    public ResponseEntity<Object> addItem(
+    public Mono<ResponseEntity<Object>> addItem(
             @RequestHeader((Constant.REQUEST_HEADER_USER_ID)) Long userId,
             @Validated({Create.class})
             @RequestBody ItemDto itemDto) {
-        return itemClient.addItem(itemDto, userId);
+        return itemClient.addItemAsync(itemDto, userId);
+    }
+
+    @PostMapping(value = "/import",
+            consumes = {ItemImportConverter.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<Object> importItems(
+            @RequestHeader(Constant.REQUEST_HEADER_USER_ID) Long userId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream rows) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        return itemClient.importItems(userId, out -> itemImportConverter.convert(rows, mediaType, out));
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> update(
+    public Mono<ResponseEntity<Object>> update(
             @RequestHeader((Constant.REQUEST_HEADER_USER_ID)) Long userId,
             @Validated({Update.class})
             @RequestBody ItemDto itemDto,
             @PathVariable("itemId") Long itemId) {
-        return itemClient.updateItem(userId, itemId, itemDto);
+        return itemClient.updateItemAsync(userId, itemId, itemDto);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(
+    public Mono<ResponseEntity<Object>> createComment(
             @RequestHeader((Constant.REQUEST_HEADER_USER_ID)) Long userId,
             @Validated({Create.class})
             @RequestBody CommentDto commentDto,
             @PathVariable Long itemId) {
-        return itemClient.createComment(commentDto, userId, itemId);
+        return itemClient.createCommentAsync(commentDto, userId, itemId);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Object> removeItem(@PathVariable Long id) {
-        return itemClient.removeItem(id);
+    public Mono<ResponseEntity<Object>> removeItem(@PathVariable Long id) {
+        return itemClient.removeItemAsync(id);
     }
 }
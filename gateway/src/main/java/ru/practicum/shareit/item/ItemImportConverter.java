@@ -0,0 +1,251 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportRowDto;
+import ru.practicum.shareit.util.Create;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Turns an uploaded CSV or NDJSON item file into the NDJSON rows expected by the server import endpoint.
+ * Rows are read, validated with the {@link Create} rules and written one at a time, so memory use does not
+ * depend on the file size. Invalid rows are forwarded with an error instead of the item fields.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemImportConverter {
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    private static final int MAX_ROW_LENGTH = 64 * 1024;
+    private static final List<String> REQUIRED_COLUMNS = List.of("name", "description", "available");
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public void convert(InputStream source, MediaType mediaType, OutputStream target) throws IOException {
+        Charset charset = mediaType.getCharset() != null ? mediaType.getCharset() : StandardCharsets.UTF_8;
+        Reader reader = new BufferedReader(new InputStreamReader(source, charset));
+        OutputStream out = new BufferedOutputStream(target);
+        if (MediaType.valueOf(TEXT_CSV_VALUE).equalsTypeAndSubtype(mediaType)) {
+            convertCsv(reader, out);
+        } else {
+            convertNdjson(reader, out);
+        }
+        out.flush();
+    }
+
+    private void convertNdjson(Reader reader, OutputStream out) throws IOException {
+        LineReader lines = new LineReader(reader);
+        String line;
+        while ((line = lines.next()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (lines.tooLong) {
+                write(out, rejected(lines.number, "Row is longer than " + MAX_ROW_LENGTH + " characters"));
+                continue;
+            }
+            try {
+                write(out, validated(lines.number, objectMapper.readValue(line, ItemDto.class)));
+            } catch (JsonProcessingException e) {
+                write(out, rejected(lines.number, "Malformed JSON: " + e.getOriginalMessage()));
+            }
+        }
+    }
+
+    private void convertCsv(Reader reader, OutputStream out) throws IOException {
+        CsvReader records = new CsvReader(reader);
+        List<String> header = records.next();
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; header != null && i < header.size(); i++) {
+            columns.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.keySet().containsAll(REQUIRED_COLUMNS)) {
+            throw new ValidationException("CSV header must contain the columns " + String.join(", ", REQUIRED_COLUMNS)
+                    + " and may contain requestId");
+        }
+
+        List<String> record;
+        while ((record = records.next()) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            if (records.tooLong) {
+                write(out, rejected(records.recordLine, "Row is longer than " + MAX_ROW_LENGTH + " characters"));
+                continue;
+            }
+            write(out, csvRow(records.recordLine, record, columns));
+        }
+    }
+
+    private ItemImportRowDto csvRow(long line, List<String> record, Map<String, Integer> columns) {
+        ItemDto item = new ItemDto();
+        item.setName(cell(record, columns, "name"));
+        item.setDescription(cell(record, columns, "description"));
+
+        String available = cell(record, columns, "available");
+        if (available != null && !available.isBlank()) {
+            if (!available.trim().equalsIgnoreCase("true") && !available.trim().equalsIgnoreCase("false")) {
+                return rejected(line, "available: must be true or false");
+            }
+            item.setAvailable(Boolean.valueOf(available.trim()));
+        }
+
+        String requestId = cell(record, columns, "requestid");
+        if (requestId != null && !requestId.isBlank()) {
+            try {
+                item.setRequestId(Long.valueOf(requestId.trim()));
+            } catch (NumberFormatException e) {
+                return rejected(line, "requestId: must be a number");
+            }
+        }
+        return validated(line, item);
+    }
+
+    private static String cell(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        return index != null && index < record.size() ? record.get(index) : null;
+    }
+
+    private ItemImportRowDto validated(long line, ItemDto item) {
+        Set<ConstraintViolation<ItemDto>> violations = validator.validate(item, Create.class);
+        if (!violations.isEmpty()) {
+            return rejected(line, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        return ItemImportRowDto.builder()
+                .line(line)
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .requestId(item.getRequestId())
+                .build();
+    }
+
+    private static ItemImportRowDto rejected(long line, String error) {
+        return ItemImportRowDto.builder().line(line).error(error).build();
+    }
+
+    private void write(OutputStream out, ItemImportRowDto row) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(row));
+        out.write('\n');
+    }
+
+    private static final class LineReader {
+        private final Reader reader;
+        private final StringBuilder line = new StringBuilder();
+        private long number;
+        private boolean tooLong;
+
+        private LineReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        private String next() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            number++;
+            line.setLength(0);
+            tooLong = false;
+            while (c != -1 && c != '\n') {
+                if (c != '\r') {
+                    if (line.length() < MAX_ROW_LENGTH) {
+                        line.append((char) c);
+                    } else {
+                        tooLong = true;
+                    }
+                }
+                c = reader.read();
+            }
+            return line.toString();
+        }
+    }
+
+    /**
+     * Minimal RFC 4180 reader: comma separated, fields optionally quoted with doubled quotes inside,
+     * line breaks allowed in quoted fields.
+     */
+    private static final class CsvReader {
+        private final Reader reader;
+        private long line = 1;
+        private long recordLine;
+        private int recordLength;
+        private boolean tooLong;
+
+        private CsvReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        private List<String> next() throws IOException {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            recordLine = c == '\n' ? line - 1 : line;
+            recordLength = 0;
+            tooLong = false;
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        fields.add(field.toString());
+                        return fields;
+                    }
+                    if (c == '"') {
+                        c = read();
+                        if (c != '"') {
+                            quoted = false;
+                            continue;
+                        }
+                    }
+                    append(field, c);
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == -1) {
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c != '\r') {
+                    append(field, c);
+                }
+                c = read();
+            }
+        }
+
+        private void append(StringBuilder field, int c) {
+            if (++recordLength > MAX_ROW_LENGTH) {
+                tooLong = true;
+            } else {
+                field.append((char) c);
+            }
+        }
+
+        private int read() throws IOException {
+            int c = reader.read();
+            if (c == '\n') {
+                line++;
+            }
+            return c;
+        }
+    }
+}
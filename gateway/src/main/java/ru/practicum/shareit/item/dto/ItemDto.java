@@ -20,7 +20,7 @@ public class ItemDto {
     private String name;
 
     @NotBlank(groups = {Create.class})
-    @Size(groups = {Create.class}, max = 512)
+    @Size(groups = {Create.class}, max = 255)
     private String description;
 
     @NotNull(groups = {Create.class})
@@ -1,13 +1,12 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerClientFactory;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.Map;
@@ -17,33 +16,39 @@ public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemRequestClient(ServerClientFactory clientFactory) {
+        super(clientFactory, API_PREFIX);
     }
 
     public ResponseEntity<Object> addNewRequest(Long userId, ItemRequestDto requestDto) {
-        return post("", userId, requestDto);
+        return call(HttpMethod.POST, "", userId, null, requestDto);
+    }
+
+    public Mono<ResponseEntity<Object>> addNewRequestAsync(Long userId, ItemRequestDto requestDto) {
+        return send(HttpMethod.POST, "", userId, null, requestDto);
     }
 
     public ResponseEntity<Object> getUserRequests(Long userId) {
-        return get("", userId);
+        return call(HttpMethod.GET, "", userId, null, null);
+    }
+
+    public Mono<ResponseEntity<Object>> getUserRequestsAsync(Long userId) {
+        return send(HttpMethod.GET, "", userId, null, null);
     }
 
     public ResponseEntity<Object> getAllRequests(Long userId, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "from", from,
-                "size", size
-        );
+        return call(HttpMethod.GET, "/all?from={from}&size={size}", userId, Map.of("from", from, "size", size), null);
+    }
 
-        return get("/all?from={from}&size={size}", userId, parameters);
+    public Mono<ResponseEntity<Object>> getAllRequestsAsync(Long userId, Integer from, Integer size) {
+        return send(HttpMethod.GET, "/all?from={from}&size={size}", userId, Map.of("from", from, "size", size), null);
     }
 
     public ResponseEntity<Object> getRequestById(Long userId, Long requestId) {
-        return get("/" + requestId, userId);
+        return call(HttpMethod.GET, "/" + requestId, userId, null, null);
+    }
+
+    public Mono<ResponseEntity<Object>> getRequestByIdAsync(Long userId, Long requestId) {
+        return send(HttpMethod.GET, "/" + requestId, userId, null, null);
     }
-}
\ No newline at end of file
+}
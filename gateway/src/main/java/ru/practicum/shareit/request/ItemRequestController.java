@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.util.Constant;
 
@@ -21,30 +22,30 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
-    public ResponseEntity<Object> createRequest(
+    public Mono<ResponseEntity<Object>> createRequest(
             @RequestHeader(Constant.REQUEST_HEADER_USER_ID) Long userId,
             @RequestBody @Valid ItemRequestDto requestDto) {
-        return itemRequestClient.addNewRequest(userId, requestDto);
+        return itemRequestClient.addNewRequestAsync(userId, requestDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUserRequests(
+    public Mono<ResponseEntity<Object>> getUserRequests(
             @RequestHeader(Constant.REQUEST_HEADER_USER_ID) Long userId) {
-        return itemRequestClient.getUserRequests(userId);
+        return itemRequestClient.getUserRequestsAsync(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllRequests(
+    public Mono<ResponseEntity<Object>> getAllRequests(
             @RequestHeader(Constant.REQUEST_HEADER_USER_ID) Long userId,
             @RequestParam(defaultValue = "0") @Min(0) Integer from,
             @RequestParam(defaultValue = "100") @Min(1) Integer size) {
-        return itemRequestClient.getAllRequests(userId, from, size);
+        return itemRequestClient.getAllRequestsAsync(userId, from, size);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getRequestById(
+    public Mono<ResponseEntity<Object>> getRequestById(
             @RequestHeader(Constant.REQUEST_HEADER_USER_ID) Long userId,
             @PathVariable Long requestId) {
-        return itemRequestClient.getRequestById(userId, requestId);
+        return itemRequestClient.getRequestByIdAsync(userId, requestId);
     }
 }
@@ -1,13 +1,12 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerClientFactory;
 import ru.practicum.shareit.user.dto.UserDto;
 
 @Service
@@ -16,32 +15,47 @@ public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public UserClient(ServerClientFactory clientFactory) {
+        super(clientFactory, API_PREFIX);
     }
 
     public ResponseEntity<Object> addUser(UserDto userDto) {
-        return post("", userDto);
+        return call(HttpMethod.POST, "", null, null, userDto);
+    }
+
+    public Mono<ResponseEntity<Object>> addUserAsync(UserDto userDto) {
+        return send(HttpMethod.POST, "", null, null, userDto);
     }
 
     public ResponseEntity<Object> updateUser(UserDto userDto, Long userId) {
-        return patch("/" + userId, userDto);
+        return call(HttpMethod.PATCH, "/" + userId, null, null, userDto);
+    }
+
+    public Mono<ResponseEntity<Object>> updateUserAsync(UserDto userDto, Long userId) {
+        return send(HttpMethod.PATCH, "/" + userId, null, null, userDto);
     }
 
     public ResponseEntity<Object> getUserById(Long userId) {
-        return get("/" + userId);
+        return call(HttpMethod.GET, "/" + userId, null, null, null);
+    }
+
+    public Mono<ResponseEntity<Object>> getUserByIdAsync(Long userId) {
+        return send(HttpMethod.GET, "/" + userId, null, null, null);
     }
 
     public ResponseEntity<Object> getAllUsers() {
-        return get("/");
+        return call(HttpMethod.GET, "/", null, null, null);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllUsersAsync() {
+        return send(HttpMethod.GET, "/", null, null, null);
     }
 
     public ResponseEntity<Object> deleteUser(Long userId) {
-        return delete("/" + userId);
+        return call(HttpMethod.DELETE, "/" + userId, null, null, null);
+    }
+
+    public Mono<ResponseEntity<Object>> deleteUserAsync(Long userId) {
+        return send(HttpMethod.DELETE, "/" + userId, null, null, null);
     }
 }
@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.util.Create;
 import ru.practicum.shareit.util.Update;
@@ -20,34 +21,34 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> createUser(
+    public Mono<ResponseEntity<Object>> createUser(
             @Validated({Create.class})
             @RequestBody UserDto userDto) {
-        return userClient.addUser(userDto);
+        return userClient.addUserAsync(userDto);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> update(
+    public Mono<ResponseEntity<Object>> update(
             @Validated({Update.class})
             @RequestBody UserDto userDto,
             @PathVariable Long userId) {
-        return userClient.updateUser(userDto, userId);
+        return userClient.updateUserAsync(userDto, userId);
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> get(
+    public Mono<ResponseEntity<Object>> get(
             @PathVariable Long userId) {
-        return userClient.getUserById(userId);
+        return userClient.getUserByIdAsync(userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAll() {
-        return userClient.getAllUsers();
+    public Mono<ResponseEntity<Object>> getAll() {
+        return userClient.getAllUsersAsync();
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> delete(
+    public Mono<ResponseEntity<Object>> delete(
             @PathVariable Long userId) {
-        return userClient.deleteUser(userId);
+        return userClient.deleteUserAsync(userId);
     }
 }
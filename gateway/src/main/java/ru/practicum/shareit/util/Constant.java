@@ -6,6 +6,7 @@ import static org.springframework.data.domain.Sort.Direction.DESC;
 
 public class Constant {
     public static final String REQUEST_HEADER_USER_ID = "X-Sharer-User-Id";
+    public static final int MAX_BATCH_SIZE = 100;
     public static final Sort SORT_BY_ID_ASC = Sort.by(Sort.Direction.ASC, "id");
     public static final Sort SORT_BY_CREATED_DESC = Sort.by(Sort.Direction.DESC, "created");
     public static final Sort SORT_BY_START_DESC = Sort.by(DESC, "start");
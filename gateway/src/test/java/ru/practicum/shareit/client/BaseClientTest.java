@@ -0,0 +1,133 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BaseClientTest {
+    private final AtomicReference<String> serverThread = new AtomicReference<>();
+    private final List<String> serverRequests = new CopyOnWriteArrayList<>();
+    private HttpStatus serverStatus = HttpStatus.OK;
+
+    @Test
+    void call_inBlockingMode_RunsOnCallingThread() {
+        BaseClient client = new BaseClient(restTemplate("/items"), null, properties());
+
+        ResponseEntity<Object> response = client.call(HttpMethod.GET, "/1", 1L, Map.of(), null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(Thread.currentThread().getName(), serverThread.get());
+    }
+
+    @Test
+    void send_inBlockingMode_RunsOffCallingThread() {
+        BaseClient client = new BaseClient(restTemplate("/items"), null, properties());
+
+        ResponseEntity<Object> response = client.send(HttpMethod.GET, "/1", 1L, Map.of(), null).block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotEquals(Thread.currentThread().getName(), serverThread.get());
+        assertTrue(serverThread.get().startsWith("boundedElastic"), serverThread.get());
+    }
+
+    @Test
+    void call_whenAnotherClientWrites_DropsMicroCachedGets() {
+        RequestCoalescer coalescer = new RequestCoalescer(Duration.ofMinutes(1));
+        BaseClient itemClient = new BaseClient(restTemplate("/items"), null, properties(), Schedulers.immediate(),
+                coalescer);
+        BaseClient bookingClient = new BaseClient(restTemplate("/bookings"), null, properties(),
+                Schedulers.immediate(), coalescer);
+
+        itemClient.call(HttpMethod.GET, "/1", 1L, null, null);
+        itemClient.call(HttpMethod.GET, "/1", 1L, null, null);
+        bookingClient.call(HttpMethod.GET, "/1", 1L, null, null);
+        assertEquals(List.of("GET /items/1", "GET /bookings/1"), serverRequests);
+
+        bookingClient.call(HttpMethod.PATCH, "/1?approved={approved}", 1L, Map.of("approved", true), null);
+        itemClient.call(HttpMethod.GET, "/1", 1L, null, null);
+
+        assertEquals(List.of("GET /items/1", "GET /bookings/1", "PATCH /bookings/1", "GET /items/1"),
+                serverRequests);
+    }
+
+    @Test
+    void call_whenServerAnswersNotModified_KeepsValidatorHeaders() {
+        serverStatus = HttpStatus.NOT_MODIFIED;
+        HttpClientProperties properties = properties();
+        properties.setPassthrough(false);
+        BaseClient client = new BaseClient(restTemplate("/items"), null, properties);
+
+        ResponseEntity<Object> response = client.call(HttpMethod.GET, "/1", 1L, null, null);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"v1\"", response.getHeaders().getETag());
+        assertEquals("no-cache", response.getHeaders().getCacheControl());
+        assertNull(response.getHeaders().getContentType());
+    }
+
+    @Test
+    void send_inReactiveModeWhenServerAnswersNotModified_KeepsValidatorHeaders() {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.NOT_MODIFIED)
+                        .header(HttpHeaders.ETAG, "\"v1\"")
+                        .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .build()))
+                .build();
+        HttpClientProperties properties = properties();
+        properties.setPassthrough(false);
+        BaseClient client = new BaseClient(restTemplate("/items"), webClient, properties);
+
+        ResponseEntity<Object> response = client.send(HttpMethod.GET, "/1", 1L, null, null).block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"v1\"", response.getHeaders().getETag());
+        assertEquals("no-cache", response.getHeaders().getCacheControl());
+        assertNull(response.getHeaders().getContentType());
+    }
+
+    private static HttpClientProperties properties() {
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setCoalesceGets(false);
+        return properties;
+    }
+
+    private RestTemplate restTemplate(String apiPrefix) {
+        RestTemplate restTemplate = new RestTemplate((uri, method) -> {
+            serverThread.set(Thread.currentThread().getName());
+            serverRequests.add(method + " " + uri.getPath());
+            MockClientHttpResponse response = new MockClientHttpResponse(serverStatus.is2xxSuccessful()
+                    ? "{\"id\":1}".getBytes(StandardCharsets.UTF_8) : new byte[0], serverStatus);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            response.getHeaders().setETag("\"v1\"");
+            response.getHeaders().setCacheControl("no-cache");
+            MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+            request.setResponse(response);
+            return request;
+        });
+        restTemplate.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:9090" + apiPrefix));
+        return restTemplate;
+    }
+}
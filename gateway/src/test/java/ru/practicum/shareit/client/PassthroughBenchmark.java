@@ -0,0 +1,100 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the parse-and-reserialize proxy path with raw byte passthrough for a page of items.
+ * The server is replaced by an in-memory response, so only gateway-side cost is measured.
+ * Run {@code main} with the gateway test classpath, e.g. after
+ * {@code mvn -pl gateway test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PassthroughBenchmark {
+
+    @Param({"10", "100"})
+    private int items;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private BaseClient parsedClient;
+    private BaseClient passthroughClient;
+
+    @Setup
+    public void setUp() {
+        byte[] page = itemsPage(items);
+        parsedClient = new BaseClient(restTemplate(page), null, properties(false));
+        passthroughClient = new BaseClient(restTemplate(page), null, properties(true));
+    }
+
+    @Benchmark
+    public void parsed(Blackhole blackhole) throws Exception {
+        ResponseEntity<Object> response = parsedClient.call(HttpMethod.GET, "/items", 1L, Map.of(), null);
+        blackhole.consume(objectMapper.writeValueAsBytes(response.getBody()));
+    }
+
+    @Benchmark
+    public void passthrough(Blackhole blackhole) {
+        ResponseEntity<Object> response = passthroughClient.call(HttpMethod.GET, "/items", 1L, Map.of(), null);
+        blackhole.consume(response.getBody());
+    }
+
+    private static HttpClientProperties properties(boolean passthrough) {
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setPassthrough(passthrough);
+        properties.setCoalesceGets(false);
+        return properties;
+    }
+
+    private static RestTemplate restTemplate(byte[] page) {
+        return new RestTemplate((uri, method) -> {
+            MockClientHttpResponse response = new MockClientHttpResponse(page, HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+            request.setResponse(response);
+            return request;
+        });
+    }
+
+    private static byte[] itemsPage(int size) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= size; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i)
+                    .append(",\"name\":\"Item ").append(i).append('"')
+                    .append(",\"description\":\"Cordless drill with two batteries and a charger\"")
+                    .append(",\"available\":true")
+                    .append(",\"lastBooking\":{\"id\":").append(i * 2).append(",\"bookerId\":7}")
+                    .append(",\"nextBooking\":{\"id\":").append(i * 2 + 1).append(",\"bookerId\":9}")
+                    .append(",\"comments\":[{\"id\":").append(i)
+                    .append(",\"text\":\"Works great\",\"authorName\":\"User\",\"created\":\"2024-01-01T10:00:00\"}]")
+                    .append(",\"requestId\":null}");
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PassthroughBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,173 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescerTest {
+    private static final int CALLERS = 16;
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final CountDownLatch upstreamStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseUpstream = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void tearDown() {
+        releaseUpstream.countDown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void execute_whenIdenticalGetsConcurrent_SharesOneUpstreamCall() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer(Duration.ZERO);
+        CountDownLatch go = new CountDownLatch(1);
+        CountDownLatch joined = new CountDownLatch(CALLERS);
+        List<CompletableFuture<ResponseEntity<Object>>> responses = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            responses.add(CompletableFuture.supplyAsync(() -> {
+                await(go);
+                return coalescer.execute("/items/1", this::slowUpstream)
+                        .doOnSubscribe(subscription -> joined.countDown())
+                        .block();
+            }, callers));
+        }
+
+        go.countDown();
+        assertTrue(joined.await(5, TimeUnit.SECONDS));
+        releaseUpstream.countDown();
+
+        for (CompletableFuture<ResponseEntity<Object>> response : responses) {
+            assertEquals(1, response.get(5, TimeUnit.SECONDS).getBody());
+        }
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void execute_whenWriteReturnedDuringFlight_StartsNewFlight() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer(Duration.ZERO);
+        CompletableFuture<ResponseEntity<Object>> beforeWrite = coalescer.execute("/items/1", this::slowUpstream)
+                .toFuture();
+        assertTrue(upstreamStarted.await(5, TimeUnit.SECONDS));
+
+        coalescer.write(Mono.just("patched")).block();
+        CompletableFuture<ResponseEntity<Object>> afterWrite = coalescer.execute("/items/1", this::slowUpstream)
+                .toFuture();
+        releaseUpstream.countDown();
+
+        assertEquals(1, beforeWrite.get(5, TimeUnit.SECONDS).getBody());
+        assertEquals(2, afterWrite.get(5, TimeUnit.SECONDS).getBody());
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void execute_whenWriteInFlight_NeitherJoinsEarlierFlightNorIsJoinedAfterIt() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer(Duration.ZERO);
+        CompletableFuture<ResponseEntity<Object>> beforeWrite = coalescer.execute("/items/1", this::slowUpstream)
+                .toFuture();
+        assertTrue(upstreamStarted.await(5, TimeUnit.SECONDS));
+
+        CountDownLatch releaseWrite = new CountDownLatch(1);
+        CompletableFuture<String> write = coalescer.write(Mono.fromCallable(() -> {
+                    await(releaseWrite);
+                    return "patched";
+                }).subscribeOn(Schedulers.boundedElastic()))
+                .toFuture();
+        CompletableFuture<ResponseEntity<Object>> duringWrite = coalescer.execute("/items/1", this::slowUpstream)
+                .toFuture();
+
+        releaseWrite.countDown();
+        write.get(5, TimeUnit.SECONDS);
+        CompletableFuture<ResponseEntity<Object>> afterWrite = coalescer.execute("/items/1", this::slowUpstream)
+                .toFuture();
+        releaseUpstream.countDown();
+
+        Object during = duringWrite.get(5, TimeUnit.SECONDS).getBody();
+        Object after = afterWrite.get(5, TimeUnit.SECONDS).getBody();
+        assertEquals(1, beforeWrite.get(5, TimeUnit.SECONDS).getBody());
+        assertNotEquals(1, during);
+        assertNotEquals(1, after);
+        assertNotEquals(during, after);
+        assertEquals(3, upstreamCalls.get());
+    }
+
+    @Test
+    void execute_whenDifferentKeys_DoesNotShare() {
+        RequestCoalescer coalescer = new RequestCoalescer(Duration.ZERO);
+        releaseUpstream.countDown();
+
+        assertEquals(1, coalescer.execute("/items/1", this::slowUpstream).block().getBody());
+        assertEquals(2, coalescer.execute("/items/2", this::slowUpstream).block().getBody());
+    }
+
+    @Test
+    void execute_whenTtlSet_ReusesResponseUntilWrite() {
+        RequestCoalescer coalescer = new RequestCoalescer(Duration.ofMinutes(1));
+        releaseUpstream.countDown();
+
+        assertEquals(1, coalescer.execute("/items/1", this::slowUpstream).block().getBody());
+        assertEquals(1, coalescer.execute("/items/1", this::slowUpstream).block().getBody());
+
+        coalescer.write(Mono.just("patched")).block();
+
+        assertEquals(2, coalescer.execute("/items/1", this::slowUpstream).block().getBody());
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void execute_whenTtlSetAndUpstreamFails_DoesNotKeepFailure() {
+        RequestCoalescer coalescer = new RequestCoalescer(Duration.ofMinutes(1));
+
+        assertThrows(IllegalStateException.class, () -> coalescer.execute("/items/1",
+                () -> Mono.error(new IllegalStateException("server down"))).block());
+        releaseUpstream.countDown();
+
+        assertEquals(1, coalescer.execute("/items/1", this::slowUpstream).block().getBody());
+    }
+
+    @Test
+    void execute_whenTtlSetAndErrorStatus_DoesNotCacheIt() {
+        RequestCoalescer coalescer = new RequestCoalescer(Duration.ofMinutes(1));
+
+        assertEquals(HttpStatus.NOT_FOUND, coalescer.execute("/items/1",
+                () -> Mono.just(ResponseEntity.notFound().build())).block().getStatusCode());
+        releaseUpstream.countDown();
+
+        assertEquals(HttpStatus.OK, coalescer.execute("/items/1", this::slowUpstream).block().getStatusCode());
+    }
+
+    private Mono<ResponseEntity<Object>> slowUpstream() {
+        return Mono.fromCallable(() -> {
+            int call = upstreamCalls.incrementAndGet();
+            upstreamStarted.countDown();
+            await(releaseUpstream);
+            return ResponseEntity.<Object>ok(call);
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for the test to release the call");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemImportRowDto;
+
+import javax.validation.Validation;
+import javax.validation.ValidatorFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemImportConverterTest {
+    private static final MediaType CSV = MediaType.valueOf(ItemImportConverter.TEXT_CSV_VALUE);
+    private static final MediaType NDJSON = MediaType.APPLICATION_NDJSON;
+    private static final String HEADER = "name,description,available,requestId\n";
+
+    private static final ValidatorFactory VALIDATOR_FACTORY = Validation.buildDefaultValidatorFactory();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ItemImportConverter converter = new ItemImportConverter(objectMapper,
+            VALIDATOR_FACTORY.getValidator());
+
+    @AfterAll
+    static void closeValidator() {
+        VALIDATOR_FACTORY.close();
+    }
+
+    private List<ItemImportRowDto> convert(String source, MediaType mediaType) throws IOException {
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        converter.convert(new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8)), mediaType, target);
+
+        List<ItemImportRowDto> rows = new ArrayList<>();
+        for (String line : target.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                rows.add(objectMapper.readValue(line, ItemImportRowDto.class));
+            }
+        }
+        return rows;
+    }
+
+    private static List<Long> lines(List<ItemImportRowDto> rows) {
+        return rows.stream().map(ItemImportRowDto::getLine).collect(Collectors.toList());
+    }
+
+    @Test
+    void convert_whenCsvFieldsQuoted_ThenKeepsCommasAndDoubledQuotes() throws IOException {
+        List<ItemImportRowDto> rows = convert(HEADER
+                + "\"drill, cordless\",\"the \"\"best\"\" drill\",true,7\n", CSV);
+
+        assertEquals(1, rows.size());
+        assertEquals("drill, cordless", rows.get(0).getName());
+        assertEquals("the \"best\" drill", rows.get(0).getDescription());
+        assertEquals(true, rows.get(0).getAvailable());
+        assertEquals(7L, rows.get(0).getRequestId());
+        assertNull(rows.get(0).getError());
+    }
+
+    @Test
+    void convert_whenCsvFieldHasLineBreak_ThenKeepsItAndNumbersRowsBySourceLine() throws IOException {
+        List<ItemImportRowDto> rows = convert(HEADER
+                + "saw,\"circular\r\nsaw\",false,\n"
+                + "hammer,claw hammer,true,\n", CSV);
+
+        assertEquals(List.of(2L, 4L), lines(rows));
+        assertEquals("circular\r\nsaw", rows.get(0).getDescription());
+        assertEquals("hammer", rows.get(1).getName());
+    }
+
+    @Test
+    void convert_whenCsvRowTooLong_ThenRejectsOnlyThatRow() throws IOException {
+        List<ItemImportRowDto> rows = convert(HEADER
+                + "drill," + "a".repeat(64 * 1024) + ",true,\n"
+                + "hammer,claw hammer,true,\n", CSV);
+
+        assertEquals(List.of(2L, 3L), lines(rows));
+        assertEquals("Row is longer than 65536 characters", rows.get(0).getError());
+        assertEquals("hammer", rows.get(1).getName());
+    }
+
+    @Test
+    void convert_whenCsvRowInvalid_ThenForwardsErrorForItsLine() throws IOException {
+        List<ItemImportRowDto> rows = convert(HEADER
+                + "drill,cordless drill,yes,\n"
+                + "\n"
+                + "saw," + "a".repeat(256) + ",true,\n"
+                + "ladder,ladder,true,seven\n", CSV);
+
+        assertEquals(List.of(2L, 4L, 5L), lines(rows));
+        assertEquals("available: must be true or false", rows.get(0).getError());
+        assertTrue(rows.get(1).getError().startsWith("description: "), rows.get(1).getError());
+        assertEquals("requestId: must be a number", rows.get(2).getError());
+    }
+
+    @Test
+    void convert_whenCsvHeaderMissesColumn_ThenThrowsValidationException() {
+        assertThrows(ValidationException.class, () -> convert("name,available\ndrill,true\n", CSV));
+    }
+
+    @Test
+    void convert_whenNdjson_ThenSkipsBlankLinesButCountsThem() throws IOException {
+        List<ItemImportRowDto> rows = convert(
+                "{\"name\":\"drill\",\"description\":\"cordless drill\",\"available\":true}\n"
+                        + "\n"
+                        + "{\"name\":\"saw\",\"description\":\"circular saw\"}\r\n"
+                        + "{\"name\":\n"
+                        + "{\"name\":\"hammer\",\"description\":\"" + "a".repeat(64 * 1024) + "\"}\n"
+                        + "{\"name\":\"ladder\",\"description\":\"ladder\",\"available\":false}", NDJSON);
+
+        assertEquals(List.of(1L, 3L, 4L, 5L, 6L), lines(rows));
+        assertNull(rows.get(0).getError());
+        assertEquals("available: must not be null", rows.get(1).getError());
+        assertTrue(rows.get(2).getError().startsWith("Malformed JSON: "), rows.get(2).getError());
+        assertEquals("Row is longer than 65536 characters", rows.get(3).getError());
+        assertEquals("ladder", rows.get(4).getName());
+    }
+}
@@ -1,8 +1,27 @@
 package ru.practicum.shareit;
 
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.retry.annotation.AnnotationAwareRetryOperationsInterceptor;
+import org.springframework.retry.annotation.Retryable;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.UUID;
+
+// Caching wraps the transaction interceptor so evictions happen after commit.
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+@EnableScheduling
 @SpringBootApplication
 public class ShareItServer {
 
@@ -10,4 +29,28 @@ public class ShareItServer {
 		SpringApplication.run(ShareItServer.class, args);
 	}
 
+	@Bean
+	AnnotationAwareRetryOperationsInterceptor retryInterceptor() {
+		return new AnnotationAwareRetryOperationsInterceptor();
+	}
+
+	// Declared instead of @EnableRetry, which has no order attribute: ordered ahead of the transaction advisor,
+	// retries wrap the transaction interceptor so each attempt runs in a fresh transaction.
+	@Bean
+	Advisor retryAdvisor(AnnotationAwareRetryOperationsInterceptor retryInterceptor) {
+		DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+				new AnnotationMatchingPointcut(null, Retryable.class, true), retryInterceptor);
+		advisor.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+		return advisor;
+	}
+
+	// Hibernate closes the second-level cache manager with its session factory, and the provider's default
+	// manager is shared by every context in the JVM, so each context gets its own.
+	@Bean
+	HibernatePropertiesCustomizer secondLevelCacheManager() {
+		return properties -> properties.put(ConfigSettings.CACHE_MANAGER,
+				Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+						.getCacheManager(URI.create("shareit:" + UUID.randomUUID()), ShareItServer.class.getClassLoader()));
+	}
+
 }
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.booking.availability;
+
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.util.List;
+import java.util.Set;
+
+public interface BookingAvailabilityEngine {
+    /**
+     * Persists the booking unless it overlaps a WAITING or APPROVED booking of the same item.
+     *
+     * @throws ru.practicum.shareit.exception.ConflictException if the period is already taken
+     */
+    Booking book(Booking booking);
+
+    /**
+     * Persists all bookings in one batch, or none of them if any overlaps an active booking or another
+     * booking of the list.
+     *
+     * @throws ru.practicum.shareit.exception.ConflictException if a period is already taken
+     */
+    List<Booking> bookAll(List<Booking> bookings);
+
+    /**
+     * Persists the bookings that overlap neither an active booking nor an earlier booking of the list, and
+     * returns the positions of the ones that were skipped. Persisted bookings are updated in place.
+     *
+     * @throws ru.practicum.shareit.exception.ConflictException if a conflict cannot be traced to a single booking
+     */
+    Set<Integer> bookAvailable(List<Booking> bookings);
+}
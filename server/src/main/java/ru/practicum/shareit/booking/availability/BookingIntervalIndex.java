@@ -0,0 +1,132 @@
+package ru.practicum.shareit.booking.availability;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingIntervalView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.enums.Status;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.util.AfterCommit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static ru.practicum.shareit.util.Constant.BLOCKING_STATUSES;
+
+/**
+ * Per-item index of WAITING and APPROVED bookings. Items are loaded from the database on first
+ * use and kept up to date by {@link #index(Booking)} and {@link #onUserDeleted(Long)}. Bookings
+ * changed by another server instance are not seen, so an item is reloaded once its intervals
+ * are older than the configured expiry, however often they were updated here.
+ */
+@Component
+public class BookingIntervalIndex {
+    private final BookingRepository bookingRepository;
+    private final Cache<Long, ItemIntervals> items;
+
+    @Autowired
+    public BookingIntervalIndex(BookingRepository bookingRepository,
+                                @Value("${shareit.booking.availability.index.max-items:10000}") long maxItems,
+                                @Value("${shareit.booking.availability.index.expire-after-write:5m}")
+                                Duration expireAfterWrite) {
+        this(bookingRepository, maxItems, expireAfterWrite, Ticker.systemTicker());
+    }
+
+    BookingIntervalIndex(BookingRepository bookingRepository, long maxItems, Duration expireAfterWrite,
+                         Ticker ticker) {
+        this.bookingRepository = bookingRepository;
+        this.items = Caffeine.newBuilder()
+                .maximumSize(maxItems)
+                .expireAfter(new Expiry<Long, ItemIntervals>() {
+                    @Override
+                    public long expireAfterCreate(Long itemId, ItemIntervals intervals, long currentTime) {
+                        return expireAfterWrite.toNanos();
+                    }
+
+                    // in-place updates keep the deadline of the load
+                    @Override
+                    public long expireAfterUpdate(Long itemId, ItemIntervals intervals, long currentTime,
+                                                  long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long itemId, ItemIntervals intervals, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .ticker(ticker)
+                .build();
+    }
+
+    public ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        ItemIntervals intervals = items.get(itemId, this::load);
+
+        List<ItemAvailabilityDto.Interval> busy = new ArrayList<>();
+        List<ItemAvailabilityDto.Interval> free = new ArrayList<>();
+        LocalDateTime freeFrom = from;
+        for (ItemIntervals.Entry entry : intervals.overlapping(from, to)) {
+            busy.add(new ItemAvailabilityDto.Interval(entry.start, entry.end, entry.status));
+            if (entry.start.isAfter(freeFrom)) {
+                free.add(new ItemAvailabilityDto.Interval(freeFrom, entry.start, null));
+            }
+            if (entry.end.isAfter(freeFrom)) {
+                freeFrom = entry.end;
+            }
+        }
+        if (freeFrom.isBefore(to)) {
+            free.add(new ItemAvailabilityDto.Interval(freeFrom, to, null));
+        }
+        return new ItemAvailabilityDto(itemId, from, to, busy, free);
+    }
+
+    public void index(Booking booking) {
+        long itemId = booking.getItem().getId();
+        long id = booking.getId();
+        LocalDateTime start = booking.getStart();
+        LocalDateTime end = booking.getEnd();
+        Status status = booking.getStatus();
+
+        AfterCommit.run(() -> apply(itemId, id, start, end, status));
+    }
+
+    /**
+     * Must be called before the user is deleted: its bookings, and the bookings of its items, go with it
+     * through ON DELETE CASCADE, so the items they were on are dropped from the index after commit.
+     */
+    public void onUserDeleted(Long userId) {
+        List<Long> itemIds = bookingRepository.findItemIdsByBookerOrOwner(userId, BLOCKING_STATUSES);
+        if (!itemIds.isEmpty()) {
+            AfterCommit.run(() -> items.invalidateAll(itemIds));
+        }
+    }
+
+    private void apply(long itemId, long id, LocalDateTime start, LocalDateTime end, Status status) {
+        // items that are not loaded yet will read the committed booking when they are
+        items.asMap().computeIfPresent(itemId, (key, intervals) -> {
+            if (BLOCKING_STATUSES.contains(status)) {
+                intervals.put(id, start, end, status);
+            } else {
+                intervals.remove(id);
+            }
+            return intervals;
+        });
+    }
+
+    private ItemIntervals load(Long itemId) {
+        ItemIntervals intervals = new ItemIntervals();
+        for (BookingIntervalView view : bookingRepository.findIntervalsByItemId(itemId, BLOCKING_STATUSES)) {
+            intervals.put(view.getId(), view.getStart(), view.getEnd(), view.getStatus());
+        }
+        return intervals;
+    }
+}
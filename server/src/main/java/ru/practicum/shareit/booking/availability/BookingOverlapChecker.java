@@ -0,0 +1,57 @@
+package ru.practicum.shareit.booking.availability;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingIntervalView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.util.Constant.BLOCKING_STATUSES;
+
+@Component
+@RequiredArgsConstructor
+public class BookingOverlapChecker {
+    private final BookingRepository bookingRepository;
+
+    /**
+     * Returns positions of the bookings that overlap a WAITING or APPROVED booking of the same item,
+     * or an earlier booking of the list, using a single query for the whole list.
+     */
+    public Set<Integer> findConflicts(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return Set.of();
+        }
+
+        Set<Long> itemIds = bookings.stream()
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toSet());
+        LocalDateTime start = bookings.stream().map(Booking::getStart).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime end = bookings.stream().map(Booking::getEnd).max(Comparator.naturalOrder()).orElseThrow();
+
+        // active periods of an item never overlap, so the period starting last before an end is the only candidate
+        Map<Long, NavigableMap<LocalDateTime, LocalDateTime>> taken = new HashMap<>();
+        for (BookingIntervalView interval : bookingRepository.findOverlappingIntervals(itemIds, start, end,
+                BLOCKING_STATUSES)) {
+            taken.computeIfAbsent(interval.getItemId(), id -> new TreeMap<>())
+                    .put(interval.getStart(), interval.getEnd());
+        }
+
+        Set<Integer> conflicts = new HashSet<>();
+        for (int i = 0; i < bookings.size(); i++) {
+            Booking booking = bookings.get(i);
+            NavigableMap<LocalDateTime, LocalDateTime> periods = taken.computeIfAbsent(booking.getItem().getId(),
+                    id -> new TreeMap<>());
+            Map.Entry<LocalDateTime, LocalDateTime> before = periods.lowerEntry(booking.getEnd());
+            if (before != null && before.getValue().isAfter(booking.getStart())) {
+                conflicts.add(i);
+            } else {
+                periods.put(booking.getStart(), booking.getEnd());
+            }
+        }
+        return conflicts;
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.booking.availability;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ConflictException;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.booking.availability.engine", havingValue = "exclusion")
+public class ExclusionConstraintBookingAvailabilityEngine implements BookingAvailabilityEngine {
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    private final BookingRepository bookingRepository;
+
+    @Override
+    public Booking book(Booking booking) {
+        // bookings_no_overlap rejects the insert, so no lock or pre-check is needed
+        try {
+            return bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            throw translate(e, String.format("Item with ID %s is already booked for the requested period",
+                    booking.getItem().getId()));
+        }
+    }
+
+    @Override
+    public List<Booking> bookAll(List<Booking> bookings) {
+        try {
+            return bookingRepository.saveAllAndFlush(bookings);
+        } catch (DataIntegrityViolationException e) {
+            throw translate(e, "Some items are already booked for the requested periods");
+        }
+    }
+
+    @Override
+    public Set<Integer> bookAvailable(List<Booking> bookings) {
+        // the violation names no row and aborts the transaction, so a booking that won the race fails the batch
+        bookAll(bookings);
+        return Set.of();
+    }
+
+    private static RuntimeException translate(DataIntegrityViolationException e, String message) {
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+        if (cause instanceof SQLException && EXCLUSION_VIOLATION.equals(((SQLException) cause).getSQLState())) {
+            return new ConflictException(message);
+        }
+        return e;
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.booking.availability;
+
+import ru.practicum.shareit.enums.Status;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Active bookings of one item ordered by start. Active bookings never overlap (see
+ * {@link BookingAvailabilityEngine}), so ends are ordered as well and only the entry right
+ * before the window can reach into it.
+ */
+class ItemIntervals {
+    private final NavigableMap<LocalDateTime, Entry> byStart = new TreeMap<>();
+    private final Map<Long, Entry> byId = new HashMap<>();
+
+    synchronized void put(long id, LocalDateTime start, LocalDateTime end, Status status) {
+        remove(id);
+        Entry entry = new Entry(id, start, end, status);
+        byStart.put(start, entry);
+        byId.put(id, entry);
+    }
+
+    synchronized void remove(long id) {
+        Entry entry = byId.remove(id);
+        if (entry != null) {
+            byStart.remove(entry.start, entry);
+        }
+    }
+
+    synchronized List<Entry> overlapping(LocalDateTime from, LocalDateTime to) {
+        List<Entry> result = new ArrayList<>();
+        Map.Entry<LocalDateTime, Entry> before = byStart.lowerEntry(from);
+        if (before != null && before.getValue().end.isAfter(from)) {
+            result.add(before.getValue());
+        }
+        result.addAll(byStart.subMap(from, true, to, false).values());
+        return result;
+    }
+
+    static final class Entry {
+        final long id;
+        final LocalDateTime start;
+        final LocalDateTime end;
+        final Status status;
+
+        Entry(long id, LocalDateTime start, LocalDateTime end, Status status) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.status = status;
+        }
+    }
+}
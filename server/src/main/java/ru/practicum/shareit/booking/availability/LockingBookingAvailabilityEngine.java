@@ -0,0 +1,71 @@
+package ru.practicum.shareit.booking.availability;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.util.Constant.BLOCKING_STATUSES;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.booking.availability.engine", havingValue = "lock", matchIfMissing = true)
+public class LockingBookingAvailabilityEngine implements BookingAvailabilityEngine {
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingOverlapChecker overlapChecker;
+
+    @Override
+    public Booking book(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        // the item row lock serializes bookings of one item only, other items proceed in parallel
+        itemRepository.findByIdForUpdate(itemId)
+                .orElseThrow(() -> new ObjectNotFoundException(String.format("Item with ID %s not found", itemId)));
+
+        if (bookingRepository.existsOverlapping(itemId, booking.getStart(), booking.getEnd(), BLOCKING_STATUSES)) {
+            throw new ConflictException(String.format("Item with ID %s is already booked for the requested period",
+                    itemId));
+        }
+        return bookingRepository.save(booking);
+    }
+
+    @Override
+    public List<Booking> bookAll(List<Booking> bookings) {
+        if (!lockAndFindConflicts(bookings).isEmpty()) {
+            throw new ConflictException("Some items are already booked for the requested periods");
+        }
+        return bookingRepository.saveAll(bookings);
+    }
+
+    @Override
+    public Set<Integer> bookAvailable(List<Booking> bookings) {
+        Set<Integer> conflicts = lockAndFindConflicts(bookings);
+        List<Booking> available = new ArrayList<>();
+        for (int i = 0; i < bookings.size(); i++) {
+            if (!conflicts.contains(i)) {
+                available.add(bookings.get(i));
+            }
+        }
+        bookingRepository.saveAll(available);
+        return conflicts;
+    }
+
+    private Set<Integer> lockAndFindConflicts(List<Booking> bookings) {
+        Set<Long> itemIds = bookings.stream()
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toSet());
+        // locks are taken in id order, so concurrent batches cannot deadlock each other
+        itemRepository.findAllByIdForUpdate(itemIds);
+
+        return overlapChecker.findConflicts(bookings);
+    }
+}
@@ -1,11 +1,18 @@
 package ru.practicum.shareit.booking.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingOutDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.enums.BatchMode;
 import ru.practicum.shareit.util.Constant;
+import ru.practicum.shareit.util.ETags;
 
 import java.util.List;
 
@@ -15,6 +22,7 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public BookingOutDto createBooking(
@@ -23,6 +31,17 @@ public class BookingController {
         return bookingService.create(userId, bookingDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BookingBatchResultDto> createBatch(
+            @RequestHeader((Constant.REQUEST_HEADER_USER_ID)) Long userId,
+            @RequestParam(defaultValue = "ALL_OR_NOTHING") BatchMode mode,
+            @RequestBody List<BookItemRequestDto> bookingDtos) {
+        BookingBatchResultDto result = bookingService.createBatch(userId, bookingDtos, mode);
+        HttpStatus status = mode == BatchMode.ALL_OR_NOTHING && !result.getErrors().isEmpty()
+                ? HttpStatus.CONFLICT : HttpStatus.OK;
+        return ResponseEntity.status(status).body(result);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingOutDto update(
             @RequestHeader((Constant.REQUEST_HEADER_USER_ID)) Long userId,
@@ -33,28 +52,39 @@ public class BookingController {
     }
 
     @GetMapping("/{bookingId}")
-    public BookingOutDto getById(
+    public ResponseEntity<BookingOutDto> getById(
             @RequestHeader((Constant.REQUEST_HEADER_USER_ID)) Long userId,
             @PathVariable("bookingId") Long bookingId) {
-
-        return bookingService.getById(userId, bookingId);
+        BookingOutDto booking = bookingService.getById(userId, bookingId);
+        return ResponseEntity.ok().eTag(ETags.of(objectMapper, booking)).body(booking);
     }
 
     @GetMapping
-    public List<BookingOutDto> getAll(
+    public ResponseEntity<List<BookingOutDto>> getAll(
             @RequestHeader((Constant.REQUEST_HEADER_USER_ID)) Long userId,
             @RequestParam(value = "state", defaultValue = "ALL") String state,
             @RequestParam(defaultValue = "0") Integer from,
-            @RequestParam(defaultValue = "10") Integer size) {
-        return bookingService.getAllByBooker(userId, state, from, size);
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String cursor) {
+        return withNextCursor(bookingService.getAllByBooker(userId, state, from, size, cursor), size);
     }
 
     @GetMapping("/owner")
-    public List<BookingOutDto> getAllByOwner(
+    public ResponseEntity<List<BookingOutDto>> getAllByOwner(
             @RequestHeader((Constant.REQUEST_HEADER_USER_ID)) Long userId,
             @RequestParam(value = "state", defaultValue = "ALL") String state,
             @RequestParam(defaultValue = "0") Integer from,
-            @RequestParam(defaultValue = "10") Integer size) {
-        return bookingService.getAllByOwner(userId, state, from, size);
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String cursor) {
+        return withNextCursor(bookingService.getAllByOwner(userId, state, from, size, cursor), size);
+    }
+
+    private ResponseEntity<List<BookingOutDto>> withNextCursor(List<BookingOutDto> bookings, Integer size) {
+        if (bookings.size() < size) {
+            return ResponseEntity.ok(bookings);
+        }
+        return ResponseEntity.ok()
+                .header(Constant.NEXT_CURSOR_HEADER, BookingCursor.after(bookings.get(bookings.size() - 1)).encode())
+                .body(bookings);
     }
 }
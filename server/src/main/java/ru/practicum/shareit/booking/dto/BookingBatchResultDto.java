@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+public class BookingBatchResultDto {
+    private List<BookingOutDto> created;
+    private List<RowError> errors;
+
+    @Data
+    public static class RowError {
+        private final int index;
+        private final long itemId;
+        private final int status;
+        private final String error;
+    }
+}
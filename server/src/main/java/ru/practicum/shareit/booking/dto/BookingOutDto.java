@@ -18,6 +18,11 @@ public class BookingOutDto {
     private User booker;
     private Item item;
 
+    public BookingOutDto(Long id, LocalDateTime start, LocalDateTime end, Status status,
+                         Long bookerId, String bookerName, Long itemId, String itemName) {
+        this(id, start, end, status, new User(bookerId, bookerName), new Item(itemId, itemName));
+    }
+
     @Data
     public static class User {
         private final long id;
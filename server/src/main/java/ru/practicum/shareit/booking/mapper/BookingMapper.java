@@ -6,6 +6,7 @@ import ru.practicum.shareit.booking.dto.BookingItemDto;
 import ru.practicum.shareit.booking.dto.BookingOutDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.enums.Status;
+import ru.practicum.shareit.item.model.BookingRef;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -38,6 +39,10 @@ public class BookingMapper {
                 booking.getBooker().getId()
         );
     }
+
+    public static BookingItemDto toBookingItemDto(BookingRef booking) {
+        return booking != null ? new BookingItemDto(booking.getBookingId(), booking.getBookerId()) : null;
+    }
 }
 
 
@@ -1,102 +1,46 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.dto.BookingIntervalView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.enums.Status;
-import ru.practicum.shareit.item.model.Item;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-
-    @Query(value = "SELECT b FROM Booking b " +
-            "JOIN Item i ON i.id = b.item.id " +
-            "WHERE b.booker.id = :userId " +
-            "ORDER BY b.start DESC")
-    List<Booking> findAllByBookerId(Long userId, Pageable pageable);
-
-    @Query(value = "SELECT b FROM Booking b " +
-            "JOIN Item i ON i.id = b.item.id " +
-            "WHERE b.booker.id = :userId " +
-            "AND :now BETWEEN b.start AND b.end " +
-            "ORDER BY b.start DESC")
-    List<Booking> findAllCurrentBookingsByBookerId(Long userId, LocalDateTime now, Pageable pageable);
-
-    @Query(value = "SELECT b FROM Booking b " +
-            "JOIN Item i ON i.id = b.item.id " +
-            "WHERE b.booker.id = :userId " +
-            "AND b.end < :now " +
-            "ORDER BY b.start DESC")
-    List<Booking> findAllPastBookingsByBookerId(Long userId, LocalDateTime now, Pageable pageable);
-
-    @Query(value = "SELECT b FROM Booking b " +
-            "JOIN Item i ON i.id = b.item.id " +
-            "WHERE b.booker.id = :userId " +
-            "AND b.start > :now " +
-            "ORDER BY b.start DESC")
-    List<Booking> findAllFutureBookingsByBookerId(Long userId, LocalDateTime now, Pageable pageable);
-
-    @Query(value = "SELECT b FROM Booking b " +
-            "JOIN Item i ON i.id = b.item.id " +
-            "WHERE b.booker.id = :userId " +
-            "AND b.status = 'WAITING' " +
-            "AND b.start > :now " +
-            "ORDER BY b.start DESC")
-    List<Booking> findAllWaitingBookingsByBookerId(Long userId, LocalDateTime now, Pageable pageable);
-
-    @Query(value = "SELECT b FROM Booking b " +
-            "JOIN Item i ON i.id = b.item.id " +
-            "WHERE b.booker.id = :userId " +
-            "AND b.status = 'REJECTED' " +
-            "ORDER BY b.start DESC")
-    List<Booking> findAllRejectedBookingsByBookerId(Long userId, Pageable pageable);
-
-    @Query("SELECT b FROM Booking b " +
-            "JOIN Item i ON i.id = b.item.id " +
-            "WHERE i.owner.id = :userId " +
-            "ORDER BY b.start DESC")
-    List<Booking> findAllByOwnerId(Long userId, Pageable pageable);
-
-    @Query("SELECT b FROM Booking b " +
-            "JOIN Item i ON i.id = b.item.id " +
-            "WHERE i.owner.id = :userId " +
-            "AND :now BETWEEN b.start AND b.end " +
-            "ORDER BY b.start DESC")
-    List<Booking> findAllCurrentBookingsByOwnerId(Long userId, LocalDateTime now, Pageable pageable);
-
-    @Query("SELECT b FROM Booking b " +
-            "JOIN Item i ON i.id = b.item.id " +
-            "WHERE i.owner.id = :userId " +
-            "AND b.end < :now " +
-            "ORDER BY b.start DESC")
-    List<Booking> findAllPastBookingsByOwnerId(Long userId, LocalDateTime now, Pageable pageable);
-
-    @Query("SELECT b FROM Booking b " +
-            "JOIN Item i ON i.id = b.item.id " +
-            "WHERE i.owner.id = :userId " +
-            "AND b.start > :now " +
-            "ORDER BY b.start DESC")
-    List<Booking> findAllFutureBookingsByOwnerId(Long userId, LocalDateTime now, Pageable pageable);
-
-    @Query(value = "SELECT b FROM Booking b " +
-            "JOIN Item i ON i.id = b.item.id " +
-            "WHERE i.owner.id = :userId " +
-            "AND b.status = 'WAITING' " +
-            "AND b.start > :now " +
-            "ORDER BY b.start DESC")
-    List<Booking> findAllWaitingBookingsByOwnerId(Long userId, LocalDateTime now, Pageable pageable);
-
-    @Query(value = "SELECT b FROM Booking b " +
-            "JOIN Item i ON i.id = b.item.id " +
-            "WHERE i.owner.id = :userId " +
-            "AND b.status = 'REJECTED' " +
-            "ORDER BY b.start DESC")
-    List<Booking> findAllRejectedBookingsByOwnerId(Long userId, Pageable pageable);
+    @Override
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Optional<Booking> findById(Long id);
+
+    @Query(value = "SELECT COUNT(b) > 0 FROM Booking b " +
+            "WHERE b.item.id = :itemId " +
+            "AND b.status IN :statuses " +
+            "AND b.start < :end AND b.end > :start")
+    boolean existsOverlapping(Long itemId, LocalDateTime start, LocalDateTime end, Collection<Status> statuses);
+
+    @Query(value = "SELECT b.id AS id, b.item.id AS itemId, b.start AS start, b.end AS end, b.status AS status " +
+            "FROM Booking b " +
+            "WHERE b.item.id = :itemId " +
+            "AND b.status IN :statuses")
+    List<BookingIntervalView> findIntervalsByItemId(Long itemId, Collection<Status> statuses);
+
+    @Query(value = "SELECT DISTINCT b.item.id FROM Booking b " +
+            "WHERE (b.booker.id = :userId OR b.item.owner.id = :userId) " +
+            "AND b.status IN :statuses")
+    List<Long> findItemIdsByBookerOrOwner(Long userId, Collection<Status> statuses);
+
+    @Query(value = "SELECT b.id AS id, b.item.id AS itemId, b.start AS start, b.end AS end, b.status AS status " +
+            "FROM Booking b " +
+            "WHERE b.item.id IN :itemIds " +
+            "AND b.status IN :statuses " +
+            "AND b.start < :end AND b.end > :start")
+    List<BookingIntervalView> findOverlappingIntervals(Collection<Long> itemIds, LocalDateTime start,
+                                                       LocalDateTime end, Collection<Status> statuses);
 
     @Query(value = "SELECT b FROM Booking b " +
             "JOIN Item i ON i.id = b.item.id " +
@@ -123,6 +67,4 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "ORDER BY b.start_date ASC LIMIT 1",
             nativeQuery = true)
     Optional<Booking> getNextBooking(Long itemId, LocalDateTime currentTime);
-
-    List<Booking> findAllByItemInAndStatus(List<Item> items, Status status, Sort sort);
 }
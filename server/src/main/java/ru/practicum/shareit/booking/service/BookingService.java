@@ -1,18 +1,22 @@
 package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.enums.BatchMode;
 
 import java.util.List;
 
 public interface BookingService {
     BookingOutDto create(Long userId, BookItemRequestDto bookingDto);
 
+    BookingBatchResultDto createBatch(Long userId, List<BookItemRequestDto> bookingDtos, BatchMode mode);
+
     BookingOutDto update(Long userId, Long bookingId, Boolean approved);
 
     BookingOutDto getById(Long userId, Long bookingId);
 
-    List<BookingOutDto> getAllByBooker(Long userId, String state, Integer from, Integer size);
+    List<BookingOutDto> getAllByBooker(Long userId, String state, Integer from, Integer size, String cursor);
 
-    List<BookingOutDto> getAllByOwner(Long userId, String state, Integer from, Integer size);
+    List<BookingOutDto> getAllByOwner(Long userId, String state, Integer from, Integer size, String cursor);
 }
@@ -1,27 +1,37 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityEngine;
+import ru.practicum.shareit.booking.availability.BookingIntervalIndex;
+import ru.practicum.shareit.booking.availability.BookingOverlapChecker;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingOutDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingQueryEngine;
 import ru.practicum.shareit.booking.repository.BookingRepository;
-import ru.practicum.shareit.enums.State;
+import ru.practicum.shareit.enums.BatchMode;
+import ru.practicum.shareit.enums.BookingRole;
 import ru.practicum.shareit.enums.Status;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemBookingTracker;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
-import ru.practicum.shareit.util.Constant;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.booking.mapper.BookingMapper.toBooking;
@@ -33,8 +43,13 @@ import static ru.practicum.shareit.enums.State.from;
 public class BookingServiceImpl implements BookingService {
 
     private final BookingRepository bookingRepository;
+    private final BookingQueryEngine bookingQueryEngine;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final BookingAvailabilityEngine availabilityEngine;
+    private final BookingIntervalIndex intervalIndex;
+    private final BookingOverlapChecker overlapChecker;
+    private final ItemBookingTracker itemBookingTracker;
 
     @Override
     @Transactional
@@ -60,12 +75,86 @@ public class BookingServiceImpl implements BookingService {
 
         Booking booking = toBooking(bookingDto, item, user);
 
-        return BookingMapper.toBookingDtoOut(bookingRepository.save(booking));
+        Booking savedBooking = availabilityEngine.book(booking);
+        intervalIndex.index(savedBooking);
+        return BookingMapper.toBookingDtoOut(savedBooking);
     }
 
+    @Override
+    @Transactional
+    public BookingBatchResultDto createBatch(Long userId, List<BookItemRequestDto> bookingDtos, BatchMode mode) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ObjectNotFoundException("User not found"));
+
+        Map<Long, Item> items = itemRepository.findAllById(bookingDtos.stream()
+                        .map(BookItemRequestDto::getItemId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        List<BookingBatchResultDto.RowError> errors = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < bookingDtos.size(); i++) {
+            BookItemRequestDto bookingDto = bookingDtos.get(i);
+            Item item = items.get(bookingDto.getItemId());
+            if (item == null || user.getId().equals(item.getOwner().getId())) {
+                errors.add(new BookingBatchResultDto.RowError(i, bookingDto.getItemId(), HttpStatus.NOT_FOUND.value(),
+                        String.format("Item with ID %s not found", bookingDto.getItemId())));
+            } else if (!item.getAvailable()) {
+                errors.add(new BookingBatchResultDto.RowError(i, item.getId(), HttpStatus.BAD_REQUEST.value(),
+                        String.format("Item with ID %s not available.", item.getId())));
+            } else {
+                positions.add(i);
+                bookings.add(toBooking(bookingDto, item, user));
+            }
+        }
+
+        Set<Integer> conflicts = overlapChecker.findConflicts(bookings);
+        List<Integer> acceptedPositions = new ArrayList<>();
+        List<Booking> accepted = new ArrayList<>();
+        for (int i = 0; i < bookings.size(); i++) {
+            if (conflicts.contains(i)) {
+                errors.add(conflict(positions.get(i), bookings.get(i)));
+            } else {
+                acceptedPositions.add(positions.get(i));
+                accepted.add(bookings.get(i));
+            }
+        }
+
+        if (mode == BatchMode.ALL_OR_NOTHING && !errors.isEmpty()) {
+            errors.sort(Comparator.comparingInt(BookingBatchResultDto.RowError::getIndex));
+            return new BookingBatchResultDto(List.of(), errors);
+        }
+
+        List<Booking> savedBookings = new ArrayList<>();
+        if (mode == BatchMode.ALL_OR_NOTHING && !accepted.isEmpty()) {
+            savedBookings.addAll(availabilityEngine.bookAll(accepted));
+        } else if (!accepted.isEmpty()) {
+            // bookings made since the pre-check are found again under the item locks and reported per row
+            Set<Integer> lateConflicts = availabilityEngine.bookAvailable(accepted);
+            for (int i = 0; i < accepted.size(); i++) {
+                if (lateConflicts.contains(i)) {
+                    errors.add(conflict(acceptedPositions.get(i), accepted.get(i)));
+                } else {
+                    savedBookings.add(accepted.get(i));
+                }
+            }
+        }
+        errors.sort(Comparator.comparingInt(BookingBatchResultDto.RowError::getIndex));
+        savedBookings.forEach(intervalIndex::index);
+        return new BookingBatchResultDto(savedBookings.stream()
+                .map(BookingMapper::toBookingDtoOut)
+                .collect(Collectors.toList()), errors);
+    }
 
     @Override
     @Transactional
+    @Retryable(value = ConcurrencyFailureException.class,
+            maxAttemptsExpression = "${shareit.booking.update.max-attempts:5}",
+            backoff = @Backoff(delayExpression = "${shareit.booking.update.backoff-delay:20}",
+                    maxDelayExpression = "${shareit.booking.update.backoff-max-delay:500}",
+                    multiplier = 2, random = true))
     public BookingOutDto update(Long userId, Long bookingId, Boolean approved) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ObjectNotFoundException(String.format("Booking with ID %s not found", bookingId)));
@@ -86,7 +175,10 @@ public class BookingServiceImpl implements BookingService {
             booking.setStatus(Status.REJECTED);
         }
 
-        return toBookingDtoOut(bookingRepository.save(booking));
+        Booking savedBooking = bookingRepository.save(booking);
+        intervalIndex.index(savedBooking);
+        itemBookingTracker.onStatusChanged(savedBooking, LocalDateTime.now());
+        return toBookingDtoOut(savedBooking);
     }
 
     @Override
@@ -105,81 +197,29 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<BookingOutDto> getAllByBooker(Long userId, String state, Integer from, Integer size) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new ObjectNotFoundException("User not found"));
-
-        Pageable pageable = PageRequest.of(from / size, size, Constant.SORT_BY_DESC_START);
-
-        List<Booking> bookings;
-        LocalDateTime now = LocalDateTime.now();
-
-        State bookingState = from(state);
-        switch (bookingState) {
-            case ALL:
-                bookings = bookingRepository.findAllByBookerId(userId, pageable);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findAllCurrentBookingsByBookerId(userId, now, pageable);
-                break;
-            case PAST:
-                bookings = bookingRepository.findAllPastBookingsByBookerId(userId, now, pageable);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findAllFutureBookingsByBookerId(userId, now, pageable);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findAllWaitingBookingsByBookerId(userId, now, pageable);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findAllRejectedBookingsByBookerId(userId, pageable);
-                break;
-            default:
-                throw new IllegalArgumentException("Unknown state: " + bookingState);
-        }
-
-        return bookings.stream()
-                .map(BookingMapper::toBookingDtoOut)
-                .collect(Collectors.toList());
+    public List<BookingOutDto> getAllByBooker(Long userId, String state, Integer from, Integer size, String cursor) {
+        return getAll(BookingRole.BOOKER, userId, state, from, size, cursor);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<BookingOutDto> getAllByOwner(Long userId, String state, Integer from, Integer size) {
+    public List<BookingOutDto> getAllByOwner(Long userId, String state, Integer from, Integer size, String cursor) {
+        return getAll(BookingRole.OWNER, userId, state, from, size, cursor);
+    }
+
+    private List<BookingOutDto> getAll(BookingRole role, Long userId, String state, Integer from, Integer size,
+                                       String cursor) {
         userRepository.findById(userId)
                 .orElseThrow(() -> new ObjectNotFoundException("User not found"));
 
-        Pageable pageable = PageRequest.of(from / size, size, Constant.SORT_BY_DESC_START);
-
-        List<Booking> bookings;
-        LocalDateTime now = LocalDateTime.now();
-
-        State bookingState = from(state);
-        switch (bookingState) {
-            case ALL:
-                bookings = bookingRepository.findAllByOwnerId(userId, pageable);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findAllCurrentBookingsByOwnerId(userId, now, pageable);
-                break;
-            case PAST:
-                bookings = bookingRepository.findAllPastBookingsByOwnerId(userId, now, pageable);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findAllFutureBookingsByOwnerId(userId, now, pageable);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findAllWaitingBookingsByOwnerId(userId, now, pageable);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findAllRejectedBookingsByOwnerId(userId, pageable);
-                break;
-            default:
-                throw new IllegalArgumentException("Unknown state: " + bookingState);
-        }
+        BookingCursor seek = cursor == null ? BookingCursor.FIRST_PAGE : BookingCursor.decode(cursor);
+        int offset = cursor == null ? from / size * size : 0;
+        return bookingQueryEngine.find(role, userId, from(state), LocalDateTime.now(), seek, offset, size);
+    }
 
-        return bookings.stream()
-                .map(BookingMapper::toBookingDtoOut)
-                .collect(Collectors.toList());
+    private static BookingBatchResultDto.RowError conflict(int index, Booking booking) {
+        Long itemId = booking.getItem().getId();
+        return new BookingBatchResultDto.RowError(index, itemId, HttpStatus.CONFLICT.value(),
+                String.format("Item with ID %s is already booked for the requested period", itemId));
     }
 }
@@ -0,0 +1,6 @@
+package ru.practicum.shareit.enums;
+
+public enum BatchMode {
+    ALL_OR_NOTHING,
+    PARTIAL
+}
@@ -1,14 +1,16 @@
 package ru.practicum.shareit.item.comment.repository;
 
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import ru.practicum.shareit.item.comment.dto.CommentResponseDto;
 import ru.practicum.shareit.item.comment.model.Comment;
 
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @EntityGraph(Comment.WITH_AUTHOR)
     List<Comment> findAllByItemId(Long itemId);
 
-    List<CommentResponseDto> findByItemIdIn(List<Long> collect, Sort created);
+    @EntityGraph(Comment.WITH_AUTHOR)
+    List<Comment> findAllByItemIdIn(List<Long> itemIds, Sort sort);
 }
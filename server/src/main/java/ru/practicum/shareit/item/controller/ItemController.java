@@ -1,14 +1,25 @@
 package ru.practicum.shareit.item.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.item.comment.dto.CommentRequestDto;
 import ru.practicum.shareit.item.comment.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDtoOut;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.util.Constant;
+import ru.practicum.shareit.util.ETags;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -16,25 +27,83 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ItemController {
     private final ItemService itemService;
+    private final ItemImportService itemImportService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
-    public List<ItemResponseDto> getAllUserItems(
-            @RequestHeader((Constant.REQUEST_HEADER_USER_ID)) Long userId) {
-        return itemService.getAllUserItems(userId);
+    public ResponseEntity<List<ItemResponseDto>> getAllUserItems(
+            @RequestHeader((Constant.REQUEST_HEADER_USER_ID)) Long userId,
+            @RequestParam(defaultValue = "0") Long afterId,
+            @RequestParam(required = false) Integer size) {
+        // without size the whole catalog is returned, as before pagination was added
+        List<ItemResponseDto> items = size == null
+                ? itemService.getAllUserItems(userId, afterId)
+                : itemService.getAllUserItems(userId, afterId, size);
+        return ResponseEntity.ok().eTag(ETags.of(objectMapper, items)).body(items);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllUserItems(
+            @RequestHeader((Constant.REQUEST_HEADER_USER_ID)) Long userId,
+            @RequestParam(defaultValue = "0") Long afterId,
+            @RequestParam(defaultValue = "100") Integer size) {
+        // the first page is loaded before the response is committed so that errors keep their status
+        List<ItemResponseDto> firstPage = itemService.getAllUserItems(userId, afterId, size);
+
+        StreamingResponseBody body = outputStream -> {
+            List<ItemResponseDto> page = firstPage;
+            while (!page.isEmpty()) {
+                for (ItemResponseDto item : page) {
+                    outputStream.write(objectMapper.writeValueAsBytes(item));
+                    outputStream.write('\n');
+                }
+                outputStream.flush();
+                if (page.size() < size) {
+                    break;
+                }
+                page = itemService.getAllUserItems(userId, page.get(page.size() - 1).getId(), size);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/{itemId}")
-    public ItemResponseDto get(
+    public ResponseEntity<ItemResponseDto> get(
             @RequestHeader(Constant.REQUEST_HEADER_USER_ID) Long userId,
             @PathVariable Long itemId) {
-        return itemService.getItemById(itemId, userId);
+        ItemResponseDto item = itemService.getItemById(itemId, userId);
+        return ResponseEntity.ok().eTag(ETags.of(objectMapper, item)).body(item);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getAvailability(
+            @RequestHeader(Constant.REQUEST_HEADER_USER_ID) Long userId,
+            @PathVariable Long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemService.getAvailability(itemId, userId, from, to);
     }
 
     @GetMapping("/search")
     public List<ItemResponseDto> searchItem(
             @RequestHeader(Constant.REQUEST_HEADER_USER_ID) Long userId,
-            @RequestParam(name = "text") String text) {
-        return itemService.getAvailableItemBySearch(text, userId);
+            @RequestParam(name = "text") String text,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(required = false) Integer size) {
+        // without size every match is returned, as before pagination was added
+        if (start != null || end != null) {
+            return size == null
+                    ? itemService.getFreeItemBySearch(text, userId, start, end, from)
+                    : itemService.getFreeItemBySearch(text, userId, start, end, from, size);
+        }
+        return size == null
+                ? itemService.getAvailableItemBySearch(text, userId, from)
+                : itemService.getAvailableItemBySearch(text, userId, from, size);
     }
 
     @PostMapping
@@ -44,6 +113,13 @@ public class ItemController {
         return itemService.addItem(itemDtoOut, userId);
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ItemImportResultDto importItems(
+            @RequestHeader(Constant.REQUEST_HEADER_USER_ID) Long userId,
+            InputStream rows) {
+        return itemImportService.importItems(userId, rows);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemResponseDto updateItem(
             @RequestHeader((Constant.REQUEST_HEADER_USER_ID)) Long userId,
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.*;
+import ru.practicum.shareit.enums.Status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+public class ItemAvailabilityDto {
+    private Long itemId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<Interval> busy;
+    private List<Interval> free;
+
+    @Data
+    public static class Interval {
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final Status status;
+    }
+}
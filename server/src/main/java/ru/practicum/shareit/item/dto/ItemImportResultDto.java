@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+public class ItemImportResultDto {
+    private long imported;
+    private long failed;
+    private List<Error> errors;
+
+    @Data
+    public static class Error {
+        private final long line;
+        private final String error;
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One NDJSON line of an item import as sent by the gateway: either a validated item or the validation error
+ * for the source line.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemImportRowDto {
+    private long line;
+    private String name;
+    private String description;
+    private Boolean available;
+    private Long requestId;
+    private String error;
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.item.mapper;
 import lombok.experimental.UtilityClass;
 import ru.practicum.shareit.booking.dto.BookingItemDto;
 import ru.practicum.shareit.item.comment.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemBookingsView;
 import ru.practicum.shareit.item.dto.ItemDtoForRequests;
 import ru.practicum.shareit.item.dto.ItemDtoOut;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
@@ -26,6 +27,21 @@ public class ItemMapper {
                 .build();
     }
 
+    public static ItemResponseDto toItemDto(ItemBookingsView view, List<CommentResponseDto> comments) {
+        return ItemResponseDto.builder()
+                .id(view.getId())
+                .name(view.getName())
+                .description(view.getDescription())
+                .available(view.getAvailable())
+                .lastBooking(view.getLastBookingId() != null
+                        ? new BookingItemDto(view.getLastBookingId(), view.getLastBookerId()) : null)
+                .nextBooking(view.getNextBookingId() != null
+                        ? new BookingItemDto(view.getNextBookingId(), view.getNextBookerId()) : null)
+                .comments(comments)
+                .requestId(view.getRequestId())
+                .build();
+    }
+
     public static Item toItem(ItemDtoOut itemDtoOut) {
         return Item.builder()
                 .name(itemDtoOut.getName())
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.model.Booking;
+
+import javax.persistence.Embeddable;
+import java.time.LocalDateTime;
+
+/**
+ * Copy of the booking fields an item's owner view shows, kept on the item so that the view needs no booking
+ * query.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class BookingRef {
+    private Long bookingId;
+    private Long bookerId;
+    private LocalDateTime start;
+
+    public static BookingRef of(Booking booking) {
+        return new BookingRef(booking.getId(), booking.getBooker().getId(), booking.getStart());
+    }
+}
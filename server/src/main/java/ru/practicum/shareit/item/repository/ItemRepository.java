@@ -1,21 +1,106 @@
 package ru.practicum.shareit.item.repository;
 
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.enums.Status;
+import ru.practicum.shareit.item.dto.ItemBookingsView;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.util.Constant;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findAllByOwnerIdOrderByIdAsc(Long ownerId);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = :itemId")
+    Optional<Item> findByIdForUpdate(Long itemId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id IN :itemIds ORDER BY i.id")
+    List<Item> findAllByIdForUpdate(Collection<Long> itemIds);
+
+    // JPQL rather than native SQL so that Hibernate knows the query reads items and drops cached pages on item writes
+    @QueryHints({
+            @QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"),
+            @QueryHint(name = org.hibernate.annotations.QueryHints.CACHE_REGION, value = Constant.ITEMS_BY_OWNER_REGION)
+    })
+    @Query("SELECT i.id AS id, i.name AS name, i.description AS description, " +
+            "i.available AS available, i.request.id AS requestId, " +
+            "i.lastBooking.bookingId AS lastBookingId, i.lastBooking.bookerId AS lastBookerId, " +
+            "i.nextBooking.bookingId AS nextBookingId, i.nextBooking.bookerId AS nextBookerId " +
+            "FROM Item i " +
+            "WHERE i.owner.id = :ownerId AND i.id > :afterId " +
+            "ORDER BY i.id ASC")
+    List<ItemBookingsView> findAllWithBookingsByOwnerId(@Param("ownerId") Long ownerId,
+                                                        @Param("afterId") Long afterId,
+                                                        Pageable pageable);
+
+    @Query("SELECT i FROM Item i " +
+            "WHERE i.nextBooking.start <= :now " +
+            "ORDER BY i.id")
+    List<Item> findAllWithStartedNextBooking(LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT i FROM Item i " +
+            "WHERE i.lastBooking.bookerId = :bookerId OR i.nextBooking.bookerId = :bookerId")
+    List<Item> findAllWithBookingsOfBooker(Long bookerId);
+
     @Query("SELECT i FROM Item i " +
             "WHERE (LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) " +
             "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%'))) " +
             "AND i.available = true")
-    List<Item> searchAvailableItemsByNameOrDescription(@Param("text") String text, Sort sortByIdAsc);
+    List<Item> searchAvailableItemsByNameOrDescription(@Param("text") String text, Pageable pageable);
+
+    @Query("SELECT i FROM Item i " +
+            "WHERE (LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) " +
+            "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%'))) " +
+            "AND i.available = true " +
+            "AND NOT EXISTS (SELECT b.id FROM Booking b WHERE b.item = i " +
+            "AND b.status IN :statuses AND b.start < :end AND b.end > :start)")
+    List<Item> searchAvailableItemsFreeDuring(@Param("text") String text,
+                                              @Param("start") LocalDateTime start,
+                                              @Param("end") LocalDateTime end,
+                                              @Param("statuses") Collection<Status> statuses,
+                                              Pageable pageable);
+
+    @Query(value = "SELECT * FROM items i " +
+            "WHERE i.available = true " +
+            "AND (LOWER(i.name) LIKE CONCAT('%', LOWER(:text), '%') " +
+            "OR LOWER(i.description) LIKE CONCAT('%', LOWER(:text), '%')) " +
+            "ORDER BY GREATEST(word_similarity(LOWER(:text), LOWER(i.name)) * 2, " +
+            "word_similarity(LOWER(:text), LOWER(i.description))) DESC, i.id ASC",
+            nativeQuery = true)
+    List<Item> searchAvailableItemsByTrigram(@Param("text") String text, Pageable pageable);
+
+    @Query(value = "SELECT * FROM items i " +
+            "WHERE i.available = true " +
+            "AND (LOWER(i.name) LIKE CONCAT('%', LOWER(:text), '%') " +
+            "OR LOWER(i.description) LIKE CONCAT('%', LOWER(:text), '%')) " +
+            "AND NOT EXISTS (SELECT 1 FROM bookings b WHERE b.item_id = i.id " +
+            "AND b.status IN ('WAITING', 'APPROVED') AND b.start_date < :end AND b.end_date > :start) " +
+            "ORDER BY GREATEST(word_similarity(LOWER(:text), LOWER(i.name)) * 2, " +
+            "word_similarity(LOWER(:text), LOWER(i.description))) DESC, i.id ASC",
+            nativeQuery = true)
+    List<Item> searchAvailableItemsFreeDuringByTrigram(@Param("text") String text,
+                                                       @Param("start") LocalDateTime start,
+                                                       @Param("end") LocalDateTime end,
+                                                       Pageable pageable);
 
     List<Item> findAllByRequest_Id(Long requestId);
+
+    List<Item> findAllByRequest_IdIn(Collection<Long> requestIds);
+
+    List<Item> findAllByAvailableTrueAndIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    @Query("SELECT i.id FROM Item i LEFT JOIN i.request r WHERE i.owner.id = :userId OR r.requestorId = :userId")
+    List<Long> findIdsByOwnerOrRequestor(Long userId);
 }
\ No newline at end of file
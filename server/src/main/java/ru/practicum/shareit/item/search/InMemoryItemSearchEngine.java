@@ -0,0 +1,166 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.util.AfterCommit;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.util.Constant.BLOCKING_STATUSES;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.item-search.engine", havingValue = "memory")
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+    private final long maxBytes;
+    private final int rebuildBatchSize;
+    private final TrigramIndex index = new TrigramIndex();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    public InMemoryItemSearchEngine(ItemRepository itemRepository,
+                                    @Value("${shareit.item-search.memory.max-bytes:268435456}") long maxBytes,
+                                    @Value("${shareit.item-search.memory.rebuild-batch-size:1000}") int rebuildBatchSize) {
+        this.itemRepository = itemRepository;
+        this.maxBytes = maxBytes;
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            index.clear();
+
+            long afterId = 0;
+            List<Item> batch;
+            do {
+                batch = itemRepository.findAllByAvailableTrueAndIdGreaterThanOrderByIdAsc(afterId,
+                        PageRequest.of(0, rebuildBatchSize));
+                for (Item item : batch) {
+                    index.put(item.getId(), item.getName(), item.getDescription());
+                }
+                if (!withinBudget()) {
+                    return;
+                }
+                if (!batch.isEmpty()) {
+                    afterId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == rebuildBatchSize);
+
+            ready = true;
+            log.info("Item search index built: {} items, ~{} bytes", index.size(), index.estimatedBytes());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Item> searchAvailable(String text, Pageable pageable) {
+        if (!ready) {
+            return itemRepository.searchAvailableItemsByNameOrDescription(text, pageable);
+        }
+
+        long[] ids;
+        lock.readLock().lock();
+        try {
+            ids = index.search(text, pageable.getOffset(), pageable.getPageSize());
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (ids.length == 0) {
+            return Collections.emptyList();
+        }
+
+        List<Long> idList = Arrays.stream(ids).boxed().collect(Collectors.toList());
+        Map<Long, Item> items = itemRepository.findAllById(idList).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        return idList.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Item> searchAvailableFreeDuring(String text, LocalDateTime start, LocalDateTime end,
+                                                Pageable pageable) {
+        // bookings are not indexed in memory, so the anti-join has to run in the database
+        return itemRepository.searchAvailableItemsFreeDuring(text, start, end, BLOCKING_STATUSES, pageable);
+    }
+
+    @Override
+    public void index(Item item) {
+        long id = item.getId();
+        boolean available = Boolean.TRUE.equals(item.getAvailable());
+        String name = item.getName();
+        String description = item.getDescription();
+
+        AfterCommit.run(() -> apply(id, available, name, description));
+    }
+
+    /**
+     * Must be called before the user is deleted: its items, and the items answering its requests, go with it
+     * through ON DELETE CASCADE, so they are dropped from the index after commit.
+     */
+    @Override
+    public void onUserDeleted(Long userId) {
+        List<Long> itemIds = itemRepository.findIdsByOwnerOrRequestor(userId);
+        if (!itemIds.isEmpty()) {
+            AfterCommit.run(() -> remove(itemIds));
+        }
+    }
+
+    private void remove(List<Long> itemIds) {
+        lock.writeLock().lock();
+        try {
+            itemIds.forEach(index::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(long id, boolean available, String name, String description) {
+        lock.writeLock().lock();
+        try {
+            if (!ready) {
+                return;
+            }
+            if (available) {
+                index.put(id, name, description);
+            } else {
+                index.remove(id);
+            }
+            withinBudget();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean withinBudget() {
+        if (index.estimatedBytes() <= maxBytes) {
+            return true;
+        }
+        log.warn("Item search index exceeded its memory budget of {} bytes, falling back to database search",
+                maxBytes);
+        ready = false;
+        index.clear();
+        return false;
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ItemSearchEngine {
+    List<Item> searchAvailable(String text, Pageable pageable);
+
+    List<Item> searchAvailableFreeDuring(String text, LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    default void index(Item item) {
+    }
+
+    default void onUserDeleted(Long userId) {
+    }
+}
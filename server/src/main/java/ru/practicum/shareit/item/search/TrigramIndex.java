@@ -0,0 +1,179 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.*;
+
+class TrigramIndex {
+    private static final long POSTINGS_OVERHEAD_BYTES = 64;
+    private static final long DOCUMENT_OVERHEAD_BYTES = 96;
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Map<Long, String[]> documents = new HashMap<>();
+    private final Postings allIds = new Postings();
+    private long estimatedBytes;
+
+    void put(long id, String name, String description) {
+        remove(id);
+
+        String[] document = {normalize(name), normalize(description)};
+        documents.put(id, document);
+        estimatedBytes += DOCUMENT_OVERHEAD_BYTES + 2L * (document[0].length() + document[1].length());
+        add(allIds, id);
+
+        for (long trigram : trigrams(document)) {
+            Postings list = postings.get(trigram);
+            if (list == null) {
+                list = new Postings();
+                postings.put(trigram, list);
+                estimatedBytes += POSTINGS_OVERHEAD_BYTES + 8L * list.ids.length;
+            }
+            add(list, id);
+        }
+    }
+
+    void remove(long id) {
+        String[] document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        estimatedBytes -= DOCUMENT_OVERHEAD_BYTES + 2L * (document[0].length() + document[1].length());
+        allIds.remove(id);
+
+        for (long trigram : trigrams(document)) {
+            Postings list = postings.get(trigram);
+            list.remove(id);
+            if (list.size == 0) {
+                postings.remove(trigram);
+                estimatedBytes -= POSTINGS_OVERHEAD_BYTES + 8L * list.ids.length;
+            }
+        }
+    }
+
+    long[] search(String text, long offset, int limit) {
+        String query = normalize(text);
+        Postings[] lists;
+
+        if (query.length() < 3) {
+            lists = new Postings[]{allIds};
+        } else {
+            Set<Long> queryTrigrams = new HashSet<>();
+            addTrigrams(query, queryTrigrams);
+            lists = new Postings[queryTrigrams.size()];
+            int i = 0;
+            for (long trigram : queryTrigrams) {
+                Postings list = postings.get(trigram);
+                if (list == null) {
+                    return new long[0];
+                }
+                lists[i++] = list;
+            }
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+        }
+
+        long[] result = new long[limit];
+        int found = 0;
+        long skipped = 0;
+        Postings smallest = lists[0];
+        for (int i = 0; i < smallest.size && found < limit; i++) {
+            long id = smallest.ids[i];
+            if (!containsInAll(lists, id) || !matches(documents.get(id), query)) {
+                continue;
+            }
+            if (skipped < offset) {
+                skipped++;
+            } else {
+                result[found++] = id;
+            }
+        }
+        return Arrays.copyOf(result, found);
+    }
+
+    long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    int size() {
+        return documents.size();
+    }
+
+    void clear() {
+        postings.clear();
+        documents.clear();
+        allIds.ids = new long[4];
+        allIds.size = 0;
+        estimatedBytes = 0;
+    }
+
+    private void add(Postings list, long id) {
+        int oldCapacity = list.ids.length;
+        list.add(id);
+        estimatedBytes += 8L * (list.ids.length - oldCapacity);
+    }
+
+    private static boolean containsInAll(Postings[] lists, long id) {
+        for (int i = 1; i < lists.length; i++) {
+            if (Arrays.binarySearch(lists[i].ids, 0, lists[i].size, id) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(String[] document, String query) {
+        return document[0].contains(query) || document[1].contains(query);
+    }
+
+    private static Set<Long> trigrams(String[] document) {
+        Set<Long> result = new HashSet<>();
+        for (String field : document) {
+            addTrigrams(field, result);
+        }
+        return result;
+    }
+
+    private static void addTrigrams(String text, Set<Long> result) {
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            result.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Postings {
+        private long[] ids = new long[4];
+        private int size;
+
+        private void add(long id) {
+            if (size > 0 && ids[size - 1] < id) {
+                ensureCapacity();
+                ids[size++] = id;
+                return;
+            }
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            ensureCapacity();
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        private void remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item-search.engine", havingValue = "trigram")
+public class TrigramItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> searchAvailable(String text, Pageable pageable) {
+        // ordering is part of the ranked query, so only the page bounds are passed on
+        return itemRepository.searchAvailableItemsByTrigram(text,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+    }
+
+    @Override
+    public List<Item> searchAvailableFreeDuring(String text, LocalDateTime start, LocalDateTime end,
+                                                Pageable pageable) {
+        return itemRepository.searchAvailableItemsFreeDuringByTrigram(text, start, end,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.enums.Status;
+import ru.practicum.shareit.item.model.BookingRef;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keeps the last and next approved booking stored on each item. Approvals update the item in the approving
+ * transaction; a booking that starts only becomes the item's last booking when {@link #sweep()} next runs, so
+ * owner views can show it as the next booking for up to {@code shareit.item-bookings.sweep-delay} milliseconds.
+ */
+@Slf4j
+@Component
+public class ItemBookingTracker {
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int sweepBatchSize;
+
+    public ItemBookingTracker(ItemRepository itemRepository,
+                              BookingRepository bookingRepository,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${shareit.item-bookings.sweep-batch-size:500}") int sweepBatchSize) {
+        this.itemRepository = itemRepository;
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    /**
+     * Must run in the transaction that changed the booking's status. Only approvals matter: bookings are
+     * approved or rejected once, while still waiting, so a rejected booking was never tracked.
+     */
+    public void onStatusChanged(Booking booking, LocalDateTime now) {
+        if (booking.getStatus() != Status.APPROVED) {
+            return;
+        }
+        Item item = booking.getItem();
+        if (booking.getStart().isAfter(now)) {
+            if (item.getNextBooking() == null || booking.getStart().isBefore(item.getNextBooking().getStart())) {
+                item.setNextBooking(BookingRef.of(booking));
+            }
+        } else if (item.getLastBooking() == null || booking.getStart().isAfter(item.getLastBooking().getStart())) {
+            item.setLastBooking(BookingRef.of(booking));
+        }
+    }
+
+    /**
+     * Must run in the transaction that deleted the booker, after the delete is flushed: the booker's bookings
+     * are removed by ON DELETE CASCADE, so items still pointing at them are looked up again.
+     */
+    public void onBookerDeleted(Long bookerId) {
+        LocalDateTime now = LocalDateTime.now();
+        itemRepository.findAllWithBookingsOfBooker(bookerId).forEach(item -> refresh(item, now));
+    }
+
+    @Scheduled(initialDelayString = "${shareit.item-bookings.sweep-delay:60000}",
+            fixedDelayString = "${shareit.item-bookings.sweep-delay:60000}")
+    public void sweep() {
+        sweep(LocalDateTime.now());
+    }
+
+    int sweep(LocalDateTime now) {
+        int advanced = 0;
+        while (true) {
+            List<Item> items;
+            try {
+                items = transactionTemplate.execute(status -> {
+                    List<Item> started = itemRepository.findAllWithStartedNextBooking(now,
+                            PageRequest.of(0, sweepBatchSize));
+                    started.forEach(item -> refresh(item, now));
+                    return started;
+                });
+            } catch (ConcurrencyFailureException e) {
+                log.debug("Item booking sweep hit a concurrent update, leaving the rest for the next run", e);
+                break;
+            }
+            advanced += items.size();
+            if (items.size() < sweepBatchSize) {
+                break;
+            }
+        }
+        if (advanced > 0) {
+            log.info("Advanced the last and next bookings of {} items", advanced);
+        }
+        return advanced;
+    }
+
+    private void refresh(Item item, LocalDateTime now) {
+        item.setLastBooking(bookingRepository.getLastBooking(item.getId(), now).map(BookingRef::of).orElse(null));
+        item.setNextBooking(bookingRepository.getNextBooking(item.getId(), now).map(BookingRef::of).orElse(null));
+    }
+}
@@ -0,0 +1,172 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemImportRowDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class ItemImportServiceImpl implements ItemImportService {
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public ItemImportServiceImpl(ItemRepository itemRepository,
+                                 UserRepository userRepository,
+                                 ItemRequestRepository itemRequestRepository,
+                                 ItemSearchEngine itemSearchEngine,
+                                 EntityManager entityManager,
+                                 TransactionTemplate transactionTemplate,
+                                 ObjectMapper objectMapper,
+                                 @Value("${shareit.item-import.batch-size:500}") int batchSize,
+                                 @Value("${shareit.item-import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.itemRepository = itemRepository;
+        this.userRepository = userRepository;
+        this.itemRequestRepository = itemRequestRepository;
+        this.itemSearchEngine = itemSearchEngine;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Reads NDJSON rows one at a time and commits every {@code batchSize} valid rows in their own transaction,
+     * so neither the rows nor the persistence context grow with the input. A batch the database rejects is
+     * retried row by row, so only the rows that fail on their own are reported. Only the first
+     * {@code maxReportedErrors} errors are listed; {@code failed} counts all of them.
+     */
+    @Override
+    public ItemImportResultDto importItems(Long userId, InputStream rows) {
+        User owner = userRepository.findById(userId)
+                .orElseThrow(() -> new ObjectNotFoundException("User not found"));
+
+        ItemImportResultDto result = new ItemImportResultDto(0, 0, new ArrayList<>());
+        List<ItemImportRowDto> batch = new ArrayList<>(batchSize);
+        MappingIterator<ItemImportRowDto> iterator = null;
+        try {
+            iterator = objectMapper.readerFor(ItemImportRowDto.class).readValues(rows);
+            while (iterator.hasNextValue()) {
+                ItemImportRowDto row = iterator.nextValue();
+                if (row.getError() != null) {
+                    reject(result, row.getLine(), row.getError());
+                    continue;
+                }
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    saveBatch(owner, batch, result);
+                    batch.clear();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            saveBatch(owner, batch, result);
+            throw new ValidationException(String.format("Malformed import row %s: %s; %s items were imported",
+                    iterator != null ? iterator.getCurrentLocation().getLineNr() : 1, e.getOriginalMessage(),
+                    result.getImported()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        saveBatch(owner, batch, result);
+        result.getErrors().sort(Comparator.comparingLong(ItemImportResultDto.Error::getLine));
+        log.info("Imported {} items for user {}, {} rows failed", result.getImported(), userId, result.getFailed());
+        return result;
+    }
+
+    private void saveBatch(User owner, List<ItemImportRowDto> batch, ItemImportResultDto result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<ItemImportRowDto> missingRequest = new ArrayList<>();
+        try {
+            int saved = transactionTemplate.execute(status -> {
+                missingRequest.clear();
+                Map<Long, ItemRequest> requests = itemRequestRepository.findAllById(batch.stream()
+                                .map(ItemImportRowDto::getRequestId)
+                                .filter(Objects::nonNull)
+                                .collect(Collectors.toSet()))
+                        .stream()
+                        .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+
+                List<Item> items = new ArrayList<>(batch.size());
+                for (ItemImportRowDto row : batch) {
+                    ItemRequest request = row.getRequestId() != null ? requests.get(row.getRequestId()) : null;
+                    if (row.getRequestId() != null && request == null) {
+                        missingRequest.add(row);
+                        continue;
+                    }
+                    items.add(Item.builder()
+                            .name(row.getName())
+                            .description(row.getDescription())
+                            .available(row.getAvailable())
+                            .owner(owner)
+                            .request(request)
+                            .build());
+                }
+                itemRepository.saveAll(items).forEach(itemSearchEngine::index);
+                // the request-scoped persistence context would otherwise keep every imported item
+                entityManager.flush();
+                entityManager.clear();
+                return items.size();
+            });
+            result.setImported(result.getImported() + saved);
+            for (ItemImportRowDto row : missingRequest) {
+                reject(result, row.getLine(), String.format("Request with ID %s not found", row.getRequestId()));
+            }
+        } catch (DataAccessException | PersistenceException e) {
+            // the flush is not behind a repository proxy, so its failures come untranslated
+            if (batch.size() > 1) {
+                // one bad row rolls back the whole batch, so the rows are saved again one at a time
+                // and only the ones that fail on their own are rejected
+                log.warn("Item import batch of {} rows rolled back, retrying row by row", batch.size(), e);
+                for (ItemImportRowDto row : batch) {
+                    saveBatch(owner, List.of(row), result);
+                }
+            } else {
+                // the database message may expose the schema, so it is only logged
+                log.warn("Item import row {} rejected by the database: {}", batch.get(0).getLine(),
+                        NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                reject(result, batch.get(0).getLine(), "Row violates a data constraint");
+            }
+        }
+    }
+
+    private void reject(ItemImportResultDto result, long line, String error) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new ItemImportResultDto.Error(line, error));
+        }
+    }
+}
@@ -2,9 +2,11 @@ package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.comment.dto.CommentRequestDto;
 import ru.practicum.shareit.item.comment.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDtoOut;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -14,9 +16,21 @@ public interface ItemService {
 
     ItemResponseDto getItemById(Long itemId, Long userId);
 
-    List<ItemResponseDto> getAllUserItems(Long userId);
+    List<ItemResponseDto> getAllUserItems(Long userId, Long afterId);
 
-    List<ItemResponseDto> getAvailableItemBySearch(String text, Long userId);
+    List<ItemResponseDto> getAllUserItems(Long userId, Long afterId, Integer size);
+
+    ItemAvailabilityDto getAvailability(Long itemId, Long userId, LocalDateTime from, LocalDateTime to);
+
+    List<ItemResponseDto> getAvailableItemBySearch(String text, Long userId, Integer from);
+
+    List<ItemResponseDto> getAvailableItemBySearch(String text, Long userId, Integer from, Integer size);
+
+    List<ItemResponseDto> getFreeItemBySearch(String text, Long userId, LocalDateTime start, LocalDateTime end,
+                                              Integer from);
+
+    List<ItemResponseDto> getFreeItemBySearch(String text, Long userId, LocalDateTime start, LocalDateTime end,
+                                              Integer from, Integer size);
 
     CommentResponseDto createComment(Long userId, CommentRequestDto commentRequestDto, Long itemId);
 }
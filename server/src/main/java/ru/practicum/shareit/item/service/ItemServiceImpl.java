@@ -2,13 +2,12 @@ package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.booking.dto.BookingItemDto;
-import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.availability.BookingIntervalIndex;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
-import ru.practicum.shareit.enums.Status;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
@@ -17,11 +16,14 @@ import ru.practicum.shareit.item.comment.dto.CommentResponseDto;
 import ru.practicum.shareit.item.comment.mapper.CommentMapper;
 import ru.practicum.shareit.item.comment.model.Comment;
 import ru.practicum.shareit.item.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemBookingsView;
 import ru.practicum.shareit.item.dto.ItemDtoOut;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
@@ -30,6 +32,7 @@ import ru.practicum.shareit.util.Constant;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 
 import static java.util.stream.Collectors.toList;
@@ -47,6 +50,8 @@ public class ItemServiceImpl implements ItemService {
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final BookingIntervalIndex bookingIntervalIndex;
 
     @Override
     @Transactional
@@ -61,7 +66,9 @@ public class ItemServiceImpl implements ItemService {
                     .orElseThrow(() -> new ObjectNotFoundException("Request not found"));
             item.setRequest(request);
         }
-        return toItemDto(itemRepository.save(item), null, null, null);
+        Item savedItem = itemRepository.save(item);
+        itemSearchEngine.index(savedItem);
+        return toItemDto(savedItem, null, null, null);
     }
 
     @Override
@@ -96,7 +103,9 @@ public class ItemServiceImpl implements ItemService {
         item.setDescription(itemDtoOut.getDescription());
         item.setAvailable(itemDtoOut.getAvailable());
 
-        return toItemDto(itemRepository.save(item), null, null, null);
+        Item savedItem = itemRepository.save(item);
+        itemSearchEngine.index(savedItem);
+        return toItemDto(savedItem, null, null, null);
     }
 
     @Override
@@ -115,90 +124,133 @@ public class ItemServiceImpl implements ItemService {
             return itemResponseDto;
         }
 
-        LocalDateTime currentTime = LocalDateTime.now();
-        Optional<Booking> lastBooking = bookingRepository.getLastBooking(itemId, currentTime);
-        lastBooking.ifPresent(booking -> itemResponseDto.setLastBooking(toBookingItemDto(booking)));
+        itemResponseDto.setLastBooking(toBookingItemDto(item.getLastBooking()));
+        itemResponseDto.setNextBooking(toBookingItemDto(item.getNextBooking()));
+        return itemResponseDto;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemResponseDto> getAllUserItems(Long userId, Long afterId) {
+        List<ItemResponseDto> items = new ArrayList<>();
+        List<ItemResponseDto> page = getAllUserItems(userId, afterId, Constant.OWNER_ITEMS_PAGE_SIZE);
+        items.addAll(page);
+        while (page.size() == Constant.OWNER_ITEMS_PAGE_SIZE) {
+            page = getAllUserItems(userId, page.get(page.size() - 1).getId(), Constant.OWNER_ITEMS_PAGE_SIZE);
+            items.addAll(page);
+        }
+        return items;
+    }
 
-        Optional<Booking> nextBooking = bookingRepository.getNextBooking(itemId, currentTime);
-        nextBooking.ifPresent(booking -> itemResponseDto.setNextBooking(toBookingItemDto(booking)));
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemResponseDto> getAllUserItems(Long userId, Long afterId, Integer size) {
+        userRepository.findById(userId)
+                .orElseThrow(() -> new ObjectNotFoundException("User not found"));
 
-        return itemResponseDto;
+        List<ItemBookingsView> items = itemRepository.findAllWithBookingsByOwnerId(userId, afterId,
+                PageRequest.ofSize(size));
+
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, List<CommentResponseDto>> commentsMap = commentRepository.findAllByItemIdIn(
+                        items.stream().map(ItemBookingsView::getId).collect(toList()),
+                        Constant.SORT_BY_CREATED_DESC
+                ).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentMapper::toCommentDto, toList())));
+
+        return items.stream()
+                .map(item -> ItemMapper.toItemDto(item,
+                        commentsMap.getOrDefault(item.getId(), Collections.emptyList())))
+                .collect(toList());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ItemResponseDto> getAllUserItems(Long userId) {
+    public ItemAvailabilityDto getAvailability(Long itemId, Long userId, LocalDateTime from, LocalDateTime to) {
         userRepository.findById(userId)
                 .orElseThrow(() -> new ObjectNotFoundException("User not found"));
 
-        List<ItemResponseDto> items = itemRepository.findAllByOwnerIdOrderByIdAsc(userId)
-                .stream()
-                .map((Item item) -> ItemMapper.toItemDto(item, null, null, null))
-                .collect(Collectors.toList());
+        if (!itemRepository.existsById(itemId)) {
+            throw new ObjectNotFoundException(String.format("Item with ID %s not found", itemId));
+        }
+        if (!from.isBefore(to)) {
+            throw new ValidationException("Availability period start must be before its end");
+        }
 
-        LocalDateTime currentTime = LocalDateTime.now();
+        return bookingIntervalIndex.getAvailability(itemId, from, to);
+    }
 
-        Map<Long, List<CommentResponseDto>> commentsMap = commentRepository.findByItemIdIn(
-                items.stream().map(ItemResponseDto::getId).collect(Collectors.toList()),
-                Constant.SORT_BY_CREATED_DESC
-        ).stream().collect(Collectors.groupingBy(CommentResponseDto::getId));
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemResponseDto> getAvailableItemBySearch(String text, Long userId, Integer from) {
+        return skip(searchAll(offset -> getAvailableItemBySearch(text, userId, offset, Constant.SEARCH_PAGE_SIZE)),
+                from);
+    }
 
-        Map<Long, Item> itemMap = itemRepository.findAllById(
-                        items.stream().map(ItemResponseDto::getId).collect(Collectors.toList())
-                ).stream()
-                .collect(Collectors.toMap(Item::getId, item -> item));
-
-        List<Item> uniqueItems = items.stream()
-                .map(itemDto -> itemMap.get(itemDto.getId()))
-                .collect(Collectors.toList());
-
-        List<Booking> approvedBookings = bookingRepository.findAllByItemInAndStatus(
-                uniqueItems, Status.APPROVED, Constant.SORT_BY_START_DESC);
-        Map<Long, List<Booking>> itemBookingsMap = approvedBookings.stream()
-                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
-
-        List<ItemResponseDto> results = new ArrayList<>();
-        for (ItemResponseDto itemDto : items) {
-            Item item = itemMap.get(itemDto.getId());
-            List<Booking> itemBookings = itemBookingsMap.getOrDefault(item.getId(), Collections.emptyList());
-
-            BookingItemDto lastBookingDto = itemBookings.stream()
-                    .filter(booking -> !booking.getStart().isAfter(currentTime))
-                    .findFirst()
-                    .map(BookingMapper::toBookingItemDto)
-                    .orElse(null);
-
-            BookingItemDto nextBookingDto = itemBookings.stream()
-                    .filter(booking -> booking.getStart().isAfter(currentTime))
-                    .reduce((first, second) -> second)
-                    .map(BookingMapper::toBookingItemDto)
-                    .orElse(null);
-
-            List<CommentResponseDto> comments = commentsMap.getOrDefault(itemDto.getId(), Collections.emptyList());
-
-            ItemResponseDto itemResponseDto = ItemMapper.toItemDto(item, comments, lastBookingDto, nextBookingDto);
-            results.add(itemResponseDto);
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemResponseDto> getAvailableItemBySearch(String text, Long userId, Integer from, Integer size) {
+        userRepository.findById(userId)
+                .orElseThrow(() -> new ObjectNotFoundException("User not found"));
+
+        if (text.isBlank()) {
+            return Collections.emptyList();
         }
 
-        return results;
+        return itemSearchEngine.searchAvailable(text, PageRequest.of(from / size, size, Constant.SORT_BY_ID_ASC))
+                .stream()
+                .map((Item item) -> ItemMapper.toItemDto(item, null, null, null))
+                .collect(toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemResponseDto> getFreeItemBySearch(String text, Long userId, LocalDateTime start,
+                                                     LocalDateTime end, Integer from) {
+        return skip(searchAll(offset -> getFreeItemBySearch(text, userId, start, end, offset,
+                Constant.SEARCH_PAGE_SIZE)), from);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ItemResponseDto> getAvailableItemBySearch(String text, Long userId) {
+    public List<ItemResponseDto> getFreeItemBySearch(String text, Long userId, LocalDateTime start,
+                                                     LocalDateTime end, Integer from, Integer size) {
         userRepository.findById(userId)
                 .orElseThrow(() -> new ObjectNotFoundException("User not found"));
 
+        if (start == null || end == null || !start.isBefore(end)) {
+            throw new ValidationException("Search period must have a start before its end");
+        }
         if (text.isBlank()) {
             return Collections.emptyList();
         }
 
-        return itemRepository.searchAvailableItemsByNameOrDescription(text, Constant.SORT_BY_ID_ASC)
+        return itemSearchEngine.searchAvailableFreeDuring(text, start, end,
+                        PageRequest.of(from / size, size, Constant.SORT_BY_ID_ASC))
                 .stream()
                 .map((Item item) -> ItemMapper.toItemDto(item, null, null, null))
                 .collect(toList());
     }
 
+    // walks the search result in pages, so the engines only ever see bounded page requests
+    private static List<ItemResponseDto> searchAll(IntFunction<List<ItemResponseDto>> pageAtOffset) {
+        List<ItemResponseDto> items = new ArrayList<>();
+        List<ItemResponseDto> page;
+        do {
+            page = pageAtOffset.apply(items.size());
+            items.addAll(page);
+        } while (page.size() == Constant.SEARCH_PAGE_SIZE);
+        return items;
+    }
+
+    private static List<ItemResponseDto> skip(List<ItemResponseDto> items, int from) {
+        return from >= items.size() ? Collections.emptyList() : items.subList(from, items.size());
+    }
+
     @Transactional
     public List<CommentResponseDto> getAllComments(Long itemId) {
         List<Comment> comments = commentRepository.findAllByItemId(itemId);
@@ -1,12 +1,15 @@
 package ru.practicum.shareit.request.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.util.Constant;
+import ru.practicum.shareit.util.ETags;
 
 import java.util.List;
 
@@ -16,6 +19,7 @@ import java.util.List;
 @Slf4j
 public class ItemRequestController {
     private final ItemRequestService itemRequestService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ItemRequestDto createRequest(
@@ -39,9 +43,10 @@ public class ItemRequestController {
     }
 
     @GetMapping("/{requestId}")
-    public ItemRequestResponseDto getRequestById(
+    public ResponseEntity<ItemRequestResponseDto> getRequestById(
             @RequestHeader(Constant.REQUEST_HEADER_USER_ID) Long userId,
             @PathVariable Long requestId) {
-        return itemRequestService.getRequestById(userId, requestId);
+        ItemRequestResponseDto request = itemRequestService.getRequestById(userId, requestId);
+        return ResponseEntity.ok().eTag(ETags.of(objectMapper, request)).body(request);
     }
 }
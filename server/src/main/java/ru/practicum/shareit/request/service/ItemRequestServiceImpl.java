@@ -16,7 +16,9 @@ import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.util.Constant;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.request.mapper.ItemRequestMapper.*;
@@ -61,11 +63,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         userRepository.findById(userId)
                 .orElseThrow(() -> new ObjectNotFoundException("User not found"));
 
-        List<ItemRequest> requests = requestRepository.findAllByRequestorId(userId);
-
-        return requests.stream()
-                .map(this::getRequestDto)
-                .collect(Collectors.toList());
+        return getRequestDtos(requestRepository.findAllByRequestorId(userId));
     }
 
     @Override
@@ -75,16 +73,32 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
         Pageable page = PageRequest.of(from / size, size, Constant.SORT_BY_CREATED_ASC);
 
-        return requestRepository.findAllByRequestorIdIsNot(userId, page).stream()
-                .map(this::getRequestDto)
-                .collect(Collectors.toList());
+        return getRequestDtos(requestRepository.findAllByRequestorIdIsNot(userId, page).stream()
+                .collect(Collectors.toList()));
     }
 
     public ItemRequestResponseDto getRequestDto(ItemRequest request) {
-        List<ItemDtoForRequests> items = itemRepository.findAllByRequest_Id(request.getRequestorId()).stream()
+        List<ItemDtoForRequests> items = itemRepository.findAllByRequest_Id(request.getId()).stream()
                 .map(ItemMapper::toItemDtoShort)
                 .collect(Collectors.toList());
 
         return toItemRequestResponseDto(request, items);
     }
+
+    private List<ItemRequestResponseDto> getRequestDtos(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, List<ItemDtoForRequests>> itemsByRequestId = itemRepository.findAllByRequest_IdIn(
+                        requests.stream().map(ItemRequest::getId).collect(Collectors.toList())
+                ).stream()
+                .map(ItemMapper::toItemDtoShort)
+                .collect(Collectors.groupingBy(ItemDtoForRequests::getRequestId));
+
+        return requests.stream()
+                .map(request -> toItemRequestResponseDto(request,
+                        itemsByRequestId.getOrDefault(request.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
+    }
 }
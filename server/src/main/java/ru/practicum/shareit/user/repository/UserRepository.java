@@ -1,8 +1,12 @@
 package ru.practicum.shareit.user.repository;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.user.model.User;
 
+import static ru.practicum.shareit.util.Constant.USER_EXISTS_CACHE;
+
 public interface UserRepository extends JpaRepository<User, Long> {
+    @Cacheable(cacheNames = USER_EXISTS_CACHE, unless = "#result == 0")
     Long countById(Long userId);
 }
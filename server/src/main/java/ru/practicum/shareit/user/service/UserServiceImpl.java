@@ -1,26 +1,41 @@
 package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.BookingIntervalIndex;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.service.ItemBookingTracker;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.AfterCommit;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.user.mapper.UserMapper.toUser;
 import static ru.practicum.shareit.user.mapper.UserMapper.toUserDto;
+import static ru.practicum.shareit.util.Constant.USER_EXISTS_CACHE;
 
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ItemBookingTracker itemBookingTracker;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ItemSearchEngine itemSearchEngine;
 
     @Override
     @Transactional
@@ -68,11 +83,28 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = USER_EXISTS_CACHE, key = "#userId")
     public void deleteUser(Long userId) {
         if (userRepository.existsById(userId)) {
+            bookingIntervalIndex.onUserDeleted(userId);
+            itemSearchEngine.onUserDeleted(userId);
             userRepository.deleteById(userId);
+            userRepository.flush();
+            itemBookingTracker.onBookerDeleted(userId);
+            evictCascadedAfterCommit();
         } else {
             throw new ObjectNotFoundException(String.format("User with ID: %s not found", userId));
         }
     }
+
+    // the user's requests and items, and items answering those requests, go with it through ON DELETE CASCADE,
+    // which Hibernate does not see, so their cached copies and any cached query results are dropped as well
+    private void evictCascadedAfterCommit() {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        AfterCommit.run(() -> {
+            cache.evictEntityData(Item.class);
+            cache.evictEntityData(ItemRequest.class);
+            cache.evictQueryRegions();
+        });
+    }
 }
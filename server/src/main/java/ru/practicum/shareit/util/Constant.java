@@ -1,14 +1,25 @@
 package ru.practicum.shareit.util;
 
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.enums.Status;
+
+import java.util.List;
 
 import static org.springframework.data.domain.Sort.Direction.DESC;
 
 public class Constant {
     public static final String REQUEST_HEADER_USER_ID = "X-Sharer-User-Id";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String USER_EXISTS_CACHE = "userExists";
+    public static final String USER_REGION = "user";
+    public static final String ITEM_REGION = "item";
+    public static final String ITEM_REQUEST_REGION = "itemRequest";
+    public static final String ITEMS_BY_OWNER_REGION = "itemsByOwner";
+    public static final int OWNER_ITEMS_PAGE_SIZE = 100;
+    public static final int SEARCH_PAGE_SIZE = 100;
+    public static final List<Status> BLOCKING_STATUSES = List.of(Status.WAITING, Status.APPROVED);
     public static final Sort SORT_BY_ID_ASC = Sort.by(Sort.Direction.ASC, "id");
     public static final Sort SORT_BY_CREATED_DESC = Sort.by(Sort.Direction.DESC, "created");
     public static final Sort SORT_BY_START_DESC = Sort.by(DESC, "start");
     public static final Sort SORT_BY_CREATED_ASC = Sort.by(Sort.Direction.ASC, "created");
-    public static final Sort SORT_BY_DESC_START = Sort.by(Sort.Direction.DESC, "start");
 }
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.experimental.UtilityClass;
+import org.springframework.util.DigestUtils;
+
+@UtilityClass
+public class ETags {
+    public static String of(ObjectMapper objectMapper, Object body) {
+        try {
+            return "\"" + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(body)) + "\"";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to compute ETag", e);
+        }
+    }
+}
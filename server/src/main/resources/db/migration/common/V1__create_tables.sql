@@ -1,5 +1,3 @@
-DROP TABLE IF EXISTS users, items, requests, bookings, comments CASCADE;
-
 CREATE TABLE IF NOT EXISTS users
 (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
@@ -0,0 +1 @@
+CREATE SEQUENCE IF NOT EXISTS bookings_seq INCREMENT BY 50;
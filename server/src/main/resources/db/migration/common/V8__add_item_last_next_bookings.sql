@@ -0,0 +1,22 @@
+ALTER TABLE items ADD COLUMN IF NOT EXISTS last_booking_id BIGINT;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS last_booker_id BIGINT;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS last_booking_start TIMESTAMP WITHOUT TIME ZONE;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS next_booking_id BIGINT;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS next_booker_id BIGINT;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS next_booking_start TIMESTAMP WITHOUT TIME ZONE;
+
+UPDATE items SET last_booking_id = (SELECT b.id FROM bookings b
+                                    WHERE b.item_id = items.id AND b.status = 'APPROVED'
+                                      AND b.start_date <= LOCALTIMESTAMP
+                                    ORDER BY b.start_date DESC LIMIT 1),
+                 next_booking_id = (SELECT b.id FROM bookings b
+                                    WHERE b.item_id = items.id AND b.status = 'APPROVED'
+                                      AND b.start_date > LOCALTIMESTAMP
+                                    ORDER BY b.start_date ASC LIMIT 1);
+
+UPDATE items SET last_booker_id = (SELECT b.booker_id FROM bookings b WHERE b.id = items.last_booking_id),
+                 last_booking_start = (SELECT b.start_date FROM bookings b WHERE b.id = items.last_booking_id),
+                 next_booker_id = (SELECT b.booker_id FROM bookings b WHERE b.id = items.next_booking_id),
+                 next_booking_start = (SELECT b.start_date FROM bookings b WHERE b.id = items.next_booking_id);
+
+CREATE INDEX IF NOT EXISTS idx_items_next_booking_start ON items (next_booking_start);
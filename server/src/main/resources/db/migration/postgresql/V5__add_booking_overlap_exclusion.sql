@@ -0,0 +1,29 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Bookings made before the constraint may already overlap. Walk them item by item, approved ones first and then
+-- in creation order, and reject every booking that overlaps one kept before it, so the constraint can be added.
+DO $$
+DECLARE
+    booking RECORD;
+BEGIN
+    FOR booking IN
+        SELECT id, item_id, start_date, end_date, status
+        FROM bookings
+        WHERE status IN ('WAITING', 'APPROVED')
+        ORDER BY item_id, status = 'APPROVED' DESC, id
+    LOOP
+        IF EXISTS (SELECT 1
+                   FROM bookings kept
+                   WHERE kept.item_id = booking.item_id
+                     AND kept.status IN ('WAITING', 'APPROVED')
+                     AND ((kept.status = 'APPROVED' AND booking.status = 'WAITING')
+                         OR (kept.status = booking.status AND kept.id < booking.id))
+                     AND tsrange(kept.start_date, kept.end_date) && tsrange(booking.start_date, booking.end_date)) THEN
+            UPDATE bookings SET status = 'REJECTED' WHERE id = booking.id;
+        END IF;
+    END LOOP;
+END $$;
+
+ALTER TABLE bookings ADD CONSTRAINT bookings_no_overlap
+    EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+    WHERE (status IN ('WAITING', 'APPROVED'));
@@ -0,0 +1,125 @@
+package ru.practicum.shareit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.enums.Status;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Time to build one {@code GET /bookings?size=10000} page, once through the DTO projection used by
+ * {@link BookingService#getAllByBooker} and once by loading {@link Booking} entities with their item and booker
+ * and mapping them afterwards, as the listing did before. Profiles and classpath as in
+ * {@link InsertThroughputBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingListingBenchmark {
+    private static final int PAGE_SIZE = 10_000;
+    private static final int ITEMS = 100;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private TransactionTemplate readOnlyTransaction;
+    private EntityManager entityManager;
+    private Long bookerId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles(System.getProperty("benchmark.profile", "test"))
+                .properties("spring.jpa.show_sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        bookingService = context.getBean(BookingService.class);
+        entityManager = context.getBean(EntityManager.class);
+        TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+        readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnlyTransaction.setReadOnly(true);
+
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+        BookingRepository bookingRepository = context.getBean(BookingRepository.class);
+        String suffix = System.nanoTime() + "@bench.example.com";
+        User owner = userRepository.save(new User(null, "owner", "owner-" + suffix));
+        User booker = userRepository.save(new User(null, "booker", "booker-" + suffix));
+        bookerId = booker.getId();
+
+        LocalDateTime start = LocalDateTime.now().minusYears(1).truncatedTo(ChronoUnit.HOURS);
+        for (int i = 0; i < ITEMS; i++) {
+            Item item = itemRepository.save(Item.builder()
+                    .name("item " + i)
+                    .description("Cordless drill with two batteries and a charger")
+                    .available(true)
+                    .owner(owner)
+                    .build());
+            List<Booking> bookings = new ArrayList<>(PAGE_SIZE / ITEMS);
+            for (int j = 0; j < PAGE_SIZE / ITEMS; j++) {
+                LocalDateTime bookingStart = start.plusHours(2L * j);
+                bookings.add(Booking.builder()
+                        .item(item)
+                        .booker(booker)
+                        .start(bookingStart)
+                        .end(bookingStart.plusHours(1))
+                        .status(Status.APPROVED)
+                        .build());
+            }
+            transactionTemplate.execute(status -> bookingRepository.saveAll(bookings));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingOutDto> projection() {
+        return bookingService.getAllByBooker(bookerId, "ALL", 0, PAGE_SIZE, null);
+    }
+
+    @Benchmark
+    public List<BookingOutDto> entities() {
+        return readOnlyTransaction.execute(status -> entityManager
+                .createQuery("SELECT b FROM Booking b " +
+                        "JOIN FETCH b.item " +
+                        "JOIN FETCH b.booker " +
+                        "WHERE b.booker.id = :userId " +
+                        "ORDER BY b.start DESC, b.id DESC", Booking.class)
+                .setParameter("userId", bookerId)
+                .setMaxResults(PAGE_SIZE)
+                .getResultStream()
+                .map(BookingMapper::toBookingDtoOut)
+                .collect(Collectors.toList()));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BookingListingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,121 @@
+package ru.practicum.shareit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.enums.BatchMode;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows inserted per second for a bulk item insert and for POST /bookings/batch, with JDBC batching off
+ * ({@code jdbcBatchSize=1}) and on. Uses the in-memory H2 test profile by default; to measure PostgreSQL pass
+ * {@code -Dbenchmark.profile=default -Dspring.datasource.url=...} to the forked JVM via {@code -jvmArgs}.
+ * Run {@code main} with the server test classpath, e.g. after
+ * {@code mvn -pl server test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsertThroughputBenchmark {
+    private static final int ITEMS_PER_IMPORT = 1000;
+    private static final int BOOKINGS_PER_BATCH = 100;
+
+    @Param({"1", "50"})
+    private int jdbcBatchSize;
+
+    private ConfigurableApplicationContext context;
+    private ItemRepository itemRepository;
+    private BookingService bookingService;
+    private TransactionTemplate transactionTemplate;
+    private User owner;
+    private User booker;
+    private List<Long> itemIds;
+    private LocalDateTime nextStart;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles(System.getProperty("benchmark.profile", "test"))
+                .properties("spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize,
+                        "spring.jpa.show_sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        itemRepository = context.getBean(ItemRepository.class);
+        bookingService = context.getBean(BookingService.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        String suffix = System.nanoTime() + "@bench.example.com";
+        owner = userRepository.save(new User(null, "owner", "owner-" + suffix));
+        booker = userRepository.save(new User(null, "booker", "booker-" + suffix));
+        itemIds = new ArrayList<>();
+        for (Item item : importItems(BOOKINGS_PER_BATCH)) {
+            itemIds.add(item.getId());
+        }
+        nextStart = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS_PER_IMPORT)
+    public List<Item> itemImport() {
+        return importItems(ITEMS_PER_IMPORT);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOOKINGS_PER_BATCH)
+    public Object bookingBatch() {
+        LocalDateTime start = nextStart;
+        nextStart = nextStart.plusHours(1);
+        List<BookItemRequestDto> bookings = new ArrayList<>(itemIds.size());
+        for (Long itemId : itemIds) {
+            BookItemRequestDto booking = new BookItemRequestDto();
+            booking.setItemId(itemId);
+            booking.setStart(start);
+            booking.setEnd(start.plusHours(1));
+            bookings.add(booking);
+        }
+        return bookingService.createBatch(booker.getId(), bookings, BatchMode.ALL_OR_NOTHING);
+    }
+
+    private List<Item> importItems(int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(Item.builder()
+                    .name("item " + i)
+                    .description("Cordless drill with two batteries and a charger")
+                    .available(true)
+                    .owner(owner)
+                    .build());
+        }
+        return transactionTemplate.execute(status -> itemRepository.saveAll(items));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(InsertThroughputBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,149 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.dto.BookingIntervalView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.enums.Status;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingIntervalIndexTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private BookingIntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookingIntervalIndex(bookingRepository, 100, Duration.ofMinutes(5), nanos::get);
+        when(bookingRepository.findIntervalsByItemId(eq(1L), anyCollection())).thenReturn(List.of(
+                view(10L, DAY.plusHours(1), DAY.plusHours(3), Status.APPROVED),
+                view(11L, DAY.plusHours(5), DAY.plusHours(6), Status.WAITING),
+                view(12L, DAY.plusDays(2), DAY.plusDays(3), Status.APPROVED)
+        ));
+    }
+
+    @Test
+    void getAvailability_whenBookingsOverlapWindow_thenReturnBusyAndFreeIntervals() {
+        ItemAvailabilityDto availability = index.getAvailability(1L, DAY.plusHours(2), DAY.plusHours(8));
+
+        assertEquals(List.of(
+                new ItemAvailabilityDto.Interval(DAY.plusHours(1), DAY.plusHours(3), Status.APPROVED),
+                new ItemAvailabilityDto.Interval(DAY.plusHours(5), DAY.plusHours(6), Status.WAITING)
+        ), availability.getBusy());
+        assertEquals(List.of(
+                new ItemAvailabilityDto.Interval(DAY.plusHours(3), DAY.plusHours(5), null),
+                new ItemAvailabilityDto.Interval(DAY.plusHours(6), DAY.plusHours(8), null)
+        ), availability.getFree());
+    }
+
+    @Test
+    void getAvailability_whenBookingEndsAtWindowStart_thenWindowIsFree() {
+        ItemAvailabilityDto availability = index.getAvailability(1L, DAY.plusHours(3), DAY.plusHours(5));
+
+        assertEquals(List.of(), availability.getBusy());
+        assertEquals(List.of(new ItemAvailabilityDto.Interval(DAY.plusHours(3), DAY.plusHours(5), null)),
+                availability.getFree());
+    }
+
+    @Test
+    void index_whenBookingCreatedOrRejected_thenLoadedItemIsUpdatedWithoutReload() {
+        index.getAvailability(1L, DAY, DAY.plusDays(1));
+
+        index.index(booking(13L, DAY.plusHours(7), DAY.plusHours(8), Status.WAITING));
+        index.index(booking(10L, DAY.plusHours(1), DAY.plusHours(3), Status.REJECTED));
+        ItemAvailabilityDto availability = index.getAvailability(1L, DAY, DAY.plusDays(1));
+
+        assertEquals(List.of(
+                new ItemAvailabilityDto.Interval(DAY.plusHours(5), DAY.plusHours(6), Status.WAITING),
+                new ItemAvailabilityDto.Interval(DAY.plusHours(7), DAY.plusHours(8), Status.WAITING)
+        ), availability.getBusy());
+        verify(bookingRepository, times(1)).findIntervalsByItemId(eq(1L), anyCollection());
+    }
+
+    @Test
+    void getAvailability_whenLoadedLongerThanExpiry_thenReloadsEvenIfUpdatedMeanwhile() {
+        index.getAvailability(1L, DAY, DAY.plusDays(1));
+        nanos.addAndGet(Duration.ofMinutes(4).toNanos());
+        index.index(booking(13L, DAY.plusHours(7), DAY.plusHours(8), Status.WAITING));
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        ItemAvailabilityDto availability = index.getAvailability(1L, DAY, DAY.plusDays(1));
+
+        assertEquals(2, availability.getBusy().size());
+        verify(bookingRepository, times(2)).findIntervalsByItemId(eq(1L), anyCollection());
+    }
+
+    @Test
+    void onUserDeleted_whenUserHadBookingsOnItem_thenItemIsReloaded() {
+        index.getAvailability(1L, DAY, DAY.plusDays(1));
+        when(bookingRepository.findItemIdsByBookerOrOwner(eq(7L), anyCollection())).thenReturn(List.of(1L));
+
+        index.onUserDeleted(7L);
+        index.getAvailability(1L, DAY, DAY.plusDays(1));
+
+        verify(bookingRepository, times(2)).findIntervalsByItemId(eq(1L), anyCollection());
+    }
+
+    private Booking booking(Long id, LocalDateTime start, LocalDateTime end, Status status) {
+        Item item = new Item();
+        item.setId(1L);
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setItem(item);
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setStatus(status);
+        return booking;
+    }
+
+    private BookingIntervalView view(Long id, LocalDateTime start, LocalDateTime end, Status status) {
+        return new BookingIntervalView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getItemId() {
+                return 1L;
+            }
+
+            @Override
+            public LocalDateTime getStart() {
+                return start;
+            }
+
+            @Override
+            public LocalDateTime getEnd() {
+                return end;
+            }
+
+            @Override
+            public Status getStatus() {
+                return status;
+            }
+        };
+    }
+}
@@ -11,8 +11,11 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingOutDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.enums.BatchMode;
 import ru.practicum.shareit.enums.Status;
 import ru.practicum.shareit.util.Constant;
 
@@ -74,6 +77,41 @@ public class BookingControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.id").value(bookingOutDto.getId()));
     }
 
+    @Test
+    void createBatch_whenPartial_ReturnsStatusOkWithErrors() throws Exception {
+        BookingBatchResultDto result = new BookingBatchResultDto(List.of(bookingOutDto),
+                List.of(new BookingBatchResultDto.RowError(1, 2L, 404, "Item with ID 2 not found")));
+        when(bookingService.createBatch(anyLong(), anyList(), eq(BatchMode.PARTIAL))).thenReturn(result);
+
+        mockMvc.perform(post("/bookings/batch")
+                        .param("mode", "PARTIAL")
+                        .content(mapper.writeValueAsString(List.of(bookItemRequestDto, bookItemRequestDto)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(Constant.REQUEST_HEADER_USER_ID, 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.created[0].id").value(bookingOutDto.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[0].index").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[0].status").value(404));
+    }
+
+    @Test
+    void createBatch_whenAllOrNothingHasErrors_ReturnsConflict() throws Exception {
+        BookingBatchResultDto result = new BookingBatchResultDto(List.of(),
+                List.of(new BookingBatchResultDto.RowError(0, 1L, 409, "Item with ID 1 is already booked")));
+        when(bookingService.createBatch(anyLong(), anyList(), eq(BatchMode.ALL_OR_NOTHING))).thenReturn(result);
+
+        mockMvc.perform(post("/bookings/batch")
+                        .content(mapper.writeValueAsString(List.of(bookItemRequestDto)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(Constant.REQUEST_HEADER_USER_ID, 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.created").isEmpty());
+    }
+
     @Test
     void updateBooking_whenValidData_ReturnsStatusOk() throws Exception {
         when(bookingService.update(anyLong(), anyLong(), anyBoolean()))
@@ -122,7 +160,7 @@ public class BookingControllerTest {
         List<BookingOutDto> bookingList = new ArrayList<>();
         bookingList.add(bookingOutDto);
 
-        when(bookingService.getAllByBooker(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingService.getAllByBooker(anyLong(), anyString(), anyInt(), anyInt(), isNull()))
                 .thenReturn(bookingList);
 
         mockMvc.perform(get("/bookings")
@@ -137,10 +175,25 @@ public class BookingControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(bookingList.size()));
     }
 
+    @Test
+    void getAllBookings_whenPageIsFull_ReturnsNextCursorHeader() throws Exception {
+        when(bookingService.getAllByBooker(anyLong(), anyString(), anyInt(), anyInt(), eq("cursor")))
+                .thenReturn(List.of(bookingOutDto));
+
+        mockMvc.perform(get("/bookings")
+                        .param("size", "1")
+                        .param("cursor", "cursor")
+                        .header(Constant.REQUEST_HEADER_USER_ID, 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(Constant.NEXT_CURSOR_HEADER,
+                        BookingCursor.after(bookingOutDto).encode()));
+    }
+
     @Test
     void getAllBookings_whenInvalidStatus_ThrowsIllegalArgumentException() throws Exception {
         doThrow(new IllegalArgumentException("Page parameters must be non-negative"))
-                .when(bookingService).getAllByBooker(anyLong(), eq("INVALID_STATUS"), anyInt(), anyInt());
+                .when(bookingService).getAllByBooker(anyLong(), eq("INVALID_STATUS"), anyInt(), anyInt(), isNull());
 
         mockMvc.perform(get("/bookings")
                         .param("state", "INVALID_STATUS")
@@ -159,7 +212,7 @@ public class BookingControllerTest {
         List<BookingOutDto> bookingList = new ArrayList<>();
         bookingList.add(bookingOutDto);
 
-        when(bookingService.getAllByOwner(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingService.getAllByOwner(anyLong(), anyString(), anyInt(), anyInt(), isNull()))
                 .thenReturn(bookingList);
 
         mockMvc.perform(get("/bookings/owner")
@@ -177,7 +230,7 @@ public class BookingControllerTest {
     @Test
     void getAllBookingsByOwner_whenInvalidStatus_ThrowsIllegalArgumentException() throws Exception {
         doThrow(new IllegalArgumentException("Page parameters must be non-negative"))
-                .when(bookingService).getAllByOwner(anyLong(), eq("INVALID_STATUS"), anyInt(), anyInt());
+                .when(bookingService).getAllByOwner(anyLong(), eq("INVALID_STATUS"), anyInt(), anyInt(), isNull());
 
         mockMvc.perform(get("/bookings/owner")
                         .param("state", "INVALID_STATUS")
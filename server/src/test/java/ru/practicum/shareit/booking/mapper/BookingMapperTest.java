@@ -27,7 +27,7 @@ class BookingMapperTest {
         bookingDto = new BookItemRequestDto();
         item = mock(Item.class);
         user = mock(User.class);
-        booking = new Booking(null, LocalDateTime.now(), LocalDateTime.now().plusHours(1), item, user, Status.WAITING);
+        booking = new Booking(null, LocalDateTime.now(), LocalDateTime.now().plusHours(1), item, user, Status.WAITING, null);
     }
 
     @Test
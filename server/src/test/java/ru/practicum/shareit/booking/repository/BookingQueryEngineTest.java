@@ -0,0 +1,273 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.enums.BookingRole;
+import ru.practicum.shareit.enums.State;
+import ru.practicum.shareit.enums.Status;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.booking.dto.BookingCursor.FIRST_PAGE;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@Import(BookingQueryEngine.class)
+class BookingQueryEngineTest {
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingQueryEngine queryEngine;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    private User user;
+    private User owner;
+    private Item item;
+    private Booking booking;
+    private Booking pastBooking;
+    private Booking futureBooking;
+
+    @BeforeEach
+    public void init() {
+        user = new User();
+        user.setName("name");
+        user.setEmail("email@email.com");
+
+        owner = new User();
+        owner.setName("name2");
+        owner.setEmail("email2@email.com");
+
+        item = new Item();
+        item.setName("name");
+        item.setDescription("description");
+        item.setAvailable(true);
+        item.setOwner(owner);
+
+        booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(user);
+        booking.setStatus(Status.APPROVED);
+        booking.setStart(LocalDateTime.now().minusHours(1L));
+        booking.setEnd(LocalDateTime.now().plusDays(1L));
+
+        pastBooking = new Booking();
+        pastBooking.setItem(item);
+        pastBooking.setBooker(user);
+        pastBooking.setStatus(Status.APPROVED);
+        pastBooking.setStart(LocalDateTime.now().minusHours(1L));
+        pastBooking.setEnd(LocalDateTime.now().plusDays(1L));
+
+        futureBooking = new Booking();
+        futureBooking.setItem(item);
+        futureBooking.setBooker(user);
+        futureBooking.setStatus(Status.APPROVED);
+        futureBooking.setStart(LocalDateTime.now().plusDays(1L));
+        futureBooking.setEnd(LocalDateTime.now().plusDays(2L));
+
+        testEntityManager.persist(user);
+        testEntityManager.persist(owner);
+        testEntityManager.persist(item);
+        testEntityManager.flush();
+        bookingRepository.save(booking);
+        bookingRepository.save(pastBooking);
+        bookingRepository.save(futureBooking);
+    }
+
+    @AfterEach
+    public void deleteAll() {
+        bookingRepository.deleteAll();
+    }
+
+    @Test
+    void findAllByBookerIdTest() {
+        List<BookingOutDto> bookings = queryEngine.find(BookingRole.BOOKER, 1L, State.ALL, LocalDateTime.now(), FIRST_PAGE, 0, 10);
+
+        assertEquals(bookings.size(), 3);
+        assertEquals(bookings.get(0).getBooker().getId(), 1L);
+    }
+
+    @Test
+    void findAllCurrentBookingsByBookerId_ReturnsCorrectBookings() {
+        Long userId = user.getId();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<BookingOutDto> bookings = queryEngine.find(BookingRole.BOOKER, userId, State.CURRENT, now, FIRST_PAGE, 0, 10);
+
+        assertThat(bookings).isNotNull();
+        for (BookingOutDto booking : bookings) {
+            assertTrue(booking.getStart().isBefore(now) || booking.getStart().isEqual(now));
+            assertTrue(booking.getEnd().isAfter(now) || booking.getEnd().isEqual(now));
+        }
+    }
+
+    @Test
+    void findAllPastBookingsByBookerId_ReturnsCorrectBookings() {
+        Long userId = user.getId();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<BookingOutDto> bookings = queryEngine.find(BookingRole.BOOKER, userId, State.PAST, now, FIRST_PAGE, 0, 10);
+
+        assertThat(bookings).isNotNull();
+        for (BookingOutDto booking : bookings) {
+            assertTrue(booking.getEnd().isBefore(now));
+        }
+    }
+
+    @Test
+    void findAllFutureBookingsByBookerId_ReturnsCorrectBookings() {
+        Long userId = user.getId();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<BookingOutDto> bookings = queryEngine.find(BookingRole.BOOKER, userId, State.FUTURE, now, FIRST_PAGE, 0, 10);
+
+        assertThat(bookings).isNotNull();
+        for (BookingOutDto booking : bookings) {
+            assertTrue(booking.getStart().isAfter(now));
+        }
+    }
+
+    @Test
+    void findAllWaitingBookingsByBookerId_ReturnsCorrectBookings() {
+        Long userId = user.getId();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<BookingOutDto> bookings = queryEngine.find(BookingRole.BOOKER, userId, State.WAITING, now, FIRST_PAGE, 0, 10);
+
+        assertThat(bookings).isNotNull();
+        for (BookingOutDto booking : bookings) {
+            assertEquals(Status.WAITING, booking.getStatus());
+            assertTrue(booking.getStart().isAfter(now));
+        }
+    }
+
+    @Test
+    void findAllRejectedBookingsByBookerId_ReturnsCorrectBookings() {
+        Long userId = user.getId();
+
+        List<BookingOutDto> bookings = queryEngine.find(BookingRole.BOOKER, userId, State.REJECTED, LocalDateTime.now(), FIRST_PAGE, 0, 10);
+
+        assertThat(bookings).isNotNull();
+        for (BookingOutDto booking : bookings) {
+            assertEquals(Status.REJECTED, booking.getStatus());
+        }
+    }
+
+    @Test
+    void findAllByOwnerId_ReturnsCorrectBookings() {
+        Long userId = user.getId();
+
+        List<BookingOutDto> bookings = queryEngine.find(BookingRole.OWNER, userId, State.ALL, LocalDateTime.now(), FIRST_PAGE, 0, 10);
+
+        assertThat(bookings).isNotNull();
+        for (BookingOutDto booking : bookings) {
+            assertEquals(item.getId(), booking.getItem().getId());
+        }
+    }
+
+    @Test
+    void findAllCurrentBookingsByOwnerId_ReturnsCorrectBookings() {
+        Long userId = user.getId();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<BookingOutDto> bookings = queryEngine.find(BookingRole.OWNER, userId, State.CURRENT, now, FIRST_PAGE, 0, 10);
+
+        assertThat(bookings).isNotNull();
+        for (BookingOutDto booking : bookings) {
+            assertEquals(item.getId(), booking.getItem().getId());
+            assertTrue(booking.getStart().isBefore(now) || booking.getStart().isEqual(now));
+            assertTrue(booking.getEnd().isAfter(now) || booking.getEnd().isEqual(now));
+        }
+    }
+
+    @Test
+    void findAllPastBookingsByOwnerId_ReturnsCorrectBookings() {
+        Long userId = user.getId();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<BookingOutDto> bookings = queryEngine.find(BookingRole.OWNER, userId, State.PAST, now, FIRST_PAGE, 0, 10);
+
+        assertThat(bookings).isNotNull();
+        for (BookingOutDto booking : bookings) {
+            assertEquals(item.getId(), booking.getItem().getId());
+            assertTrue(booking.getEnd().isBefore(now));
+        }
+    }
+
+    @Test
+    void findAllFutureBookingsByOwnerId_ReturnsCorrectBookings() {
+        Long userId = user.getId();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<BookingOutDto> bookings = queryEngine.find(BookingRole.OWNER, userId, State.FUTURE, now, FIRST_PAGE, 0, 10);
+
+        assertThat(bookings).isNotNull();
+        for (BookingOutDto booking : bookings) {
+            assertEquals(item.getId(), booking.getItem().getId());
+            assertTrue(booking.getStart().isAfter(now));
+        }
+    }
+
+    @Test
+    void findAllWaitingBookingsByOwnerId_ReturnsCorrectBookings() {
+        Long userId = user.getId();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<BookingOutDto> bookings = queryEngine.find(BookingRole.OWNER, userId, State.WAITING, now, FIRST_PAGE, 0, 10);
+
+        assertThat(bookings).isNotNull();
+        for (BookingOutDto booking : bookings) {
+            assertEquals(item.getId(), booking.getItem().getId());
+            assertEquals("WAITING", booking.getStatus().name());
+            assertTrue(booking.getStart().isAfter(now));
+        }
+    }
+
+    @Test
+    void findAllRejectedBookingsByOwnerId_ReturnsCorrectBookings() {
+        Long userId = user.getId();
+
+        List<BookingOutDto> bookings = queryEngine.find(BookingRole.OWNER, userId, State.REJECTED, LocalDateTime.now(), FIRST_PAGE, 0, 10);
+
+        assertThat(bookings).isNotNull();
+        for (BookingOutDto booking : bookings) {
+            assertEquals(item.getId(), booking.getItem().getId());
+            assertEquals("REJECTED", booking.getStatus().name());
+        }
+    }
+
+    @Test
+    void find_whenPagedWithCursorOrOffset_ReturnsSameOrder() {
+        List<BookingOutDto> all = queryEngine.find(BookingRole.OWNER, owner.getId(), State.ALL, LocalDateTime.now(),
+                FIRST_PAGE, 0, 10);
+        BookingOutDto first = queryEngine.find(BookingRole.OWNER, owner.getId(), State.ALL, LocalDateTime.now(),
+                FIRST_PAGE, 0, 1).get(0);
+        List<BookingOutDto> afterFirst = queryEngine.find(BookingRole.OWNER, owner.getId(), State.ALL,
+                LocalDateTime.now(), BookingCursor.after(first), 0, 10);
+        List<BookingOutDto> offset = queryEngine.find(BookingRole.OWNER, owner.getId(), State.ALL,
+                LocalDateTime.now(), FIRST_PAGE, 1, 10);
+
+        assertEquals(3, all.size());
+        assertEquals(all.get(0), first);
+        assertEquals(all.subList(1, 3), afterFirst);
+        assertEquals(all.subList(1, 3), offset);
+        assertEquals(futureBooking.getId(), first.getId());
+    }
+}
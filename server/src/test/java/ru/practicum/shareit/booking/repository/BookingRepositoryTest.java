@@ -6,9 +6,6 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.enums.Status;
@@ -90,174 +87,6 @@ class BookingRepositoryTest {
         bookingRepository.deleteAll();
     }
 
-    @Test
-    void findAllByBookerIdTest() {
-        List<Booking> bookings = bookingRepository.findAllByBookerId(1L, PageRequest.of(0, 10));
-
-        assertEquals(bookings.size(), 3);
-        assertEquals(bookings.get(0).getBooker().getId(), 1L);
-    }
-
-    @Test
-    void findAllCurrentBookingsByBookerId_ReturnsCorrectBookings() {
-        Long userId = user.getId();
-        LocalDateTime now = LocalDateTime.now();
-        Pageable pageable = PageRequest.of(0, 10, Sort.by("start").descending());
-
-        List<Booking> bookings = bookingRepository.findAllCurrentBookingsByBookerId(userId, now, pageable);
-
-        assertThat(bookings).isNotNull();
-        for (Booking booking : bookings) {
-            assertTrue(booking.getStart().isBefore(now) || booking.getStart().isEqual(now));
-            assertTrue(booking.getEnd().isAfter(now) || booking.getEnd().isEqual(now));
-        }
-    }
-
-    @Test
-    void findAllPastBookingsByBookerId_ReturnsCorrectBookings() {
-        Long userId = user.getId();
-        LocalDateTime now = LocalDateTime.now();
-        Pageable pageable = PageRequest.of(0, 10, Sort.by("start").descending());
-
-        List<Booking> bookings = bookingRepository.findAllPastBookingsByBookerId(userId, now, pageable);
-
-        assertThat(bookings).isNotNull();
-        for (Booking booking : bookings) {
-            assertTrue(booking.getEnd().isBefore(now));
-        }
-    }
-
-    @Test
-    void findAllFutureBookingsByBookerId_ReturnsCorrectBookings() {
-        Long userId = user.getId();
-        LocalDateTime now = LocalDateTime.now();
-        Pageable pageable = PageRequest.of(0, 10, Sort.by("start").descending());
-
-        List<Booking> bookings = bookingRepository.findAllFutureBookingsByBookerId(userId, now, pageable);
-
-        assertThat(bookings).isNotNull();
-        for (Booking booking : bookings) {
-            assertTrue(booking.getStart().isAfter(now));
-        }
-    }
-
-    @Test
-    void findAllWaitingBookingsByBookerId_ReturnsCorrectBookings() {
-        Long userId = user.getId();
-        LocalDateTime now = LocalDateTime.now();
-        Pageable pageable = PageRequest.of(0, 10, Sort.by("start").descending());
-
-        List<Booking> bookings = bookingRepository.findAllWaitingBookingsByBookerId(userId, now, pageable);
-
-        assertThat(bookings).isNotNull();
-        for (Booking booking : bookings) {
-            assertEquals(Status.WAITING, booking.getStatus());
-            assertTrue(booking.getStart().isAfter(now));
-        }
-    }
-
-    @Test
-    void findAllRejectedBookingsByBookerId_ReturnsCorrectBookings() {
-        Long userId = user.getId();
-        Pageable pageable = PageRequest.of(0, 10, Sort.by("start").descending());
-
-        List<Booking> bookings = bookingRepository.findAllRejectedBookingsByBookerId(userId, pageable);
-
-        assertThat(bookings).isNotNull();
-        for (Booking booking : bookings) {
-            assertEquals(Status.REJECTED, booking.getStatus());
-        }
-    }
-
-    @Test
-    void findAllByOwnerId_ReturnsCorrectBookings() {
-        Long userId = user.getId();
-        Pageable pageable = PageRequest.of(0, 10, Sort.by("start").descending());
-
-        List<Booking> bookings = bookingRepository.findAllByOwnerId(userId, pageable);
-
-        assertThat(bookings).isNotNull();
-        for (Booking booking : bookings) {
-            assertEquals(userId, booking.getItem().getOwner().getId());
-        }
-    }
-
-    @Test
-    void findAllCurrentBookingsByOwnerId_ReturnsCorrectBookings() {
-        Long userId = user.getId();
-        LocalDateTime now = LocalDateTime.now();
-        Pageable pageable = PageRequest.of(0, 10, Sort.by("start").descending());
-
-        List<Booking> bookings = bookingRepository.findAllCurrentBookingsByOwnerId(userId, now, pageable);
-
-        assertThat(bookings).isNotNull();
-        for (Booking booking : bookings) {
-            assertEquals(userId, booking.getItem().getOwner().getId());
-            assertTrue(booking.getStart().isBefore(now) || booking.getStart().isEqual(now));
-            assertTrue(booking.getEnd().isAfter(now) || booking.getEnd().isEqual(now));
-        }
-    }
-
-    @Test
-    void findAllPastBookingsByOwnerId_ReturnsCorrectBookings() {
-        Long userId = user.getId();
-        LocalDateTime now = LocalDateTime.now();
-        Pageable pageable = PageRequest.of(0, 10, Sort.by("start").descending());
-
-        List<Booking> bookings = bookingRepository.findAllPastBookingsByOwnerId(userId, now, pageable);
-
-        assertThat(bookings).isNotNull();
-        for (Booking booking : bookings) {
-            assertEquals(userId, booking.getItem().getOwner().getId());
-            assertTrue(booking.getEnd().isBefore(now));
-        }
-    }
-
-    @Test
-    void findAllFutureBookingsByOwnerId_ReturnsCorrectBookings() {
-        Long userId = user.getId();
-        LocalDateTime now = LocalDateTime.now();
-        Pageable pageable = PageRequest.of(0, 10, Sort.by("start").descending());
-
-        List<Booking> bookings = bookingRepository.findAllFutureBookingsByOwnerId(userId, now, pageable);
-
-        assertThat(bookings).isNotNull();
-        for (Booking booking : bookings) {
-            assertEquals(userId, booking.getItem().getOwner().getId());
-            assertTrue(booking.getStart().isAfter(now));
-        }
-    }
-
-    @Test
-    void findAllWaitingBookingsByOwnerId_ReturnsCorrectBookings() {
-        Long userId = user.getId();
-        LocalDateTime now = LocalDateTime.now();
-        Pageable pageable = PageRequest.of(0, 10, Sort.by("start").descending());
-
-        List<Booking> bookings = bookingRepository.findAllWaitingBookingsByOwnerId(userId, now, pageable);
-
-        assertThat(bookings).isNotNull();
-        for (Booking booking : bookings) {
-            assertEquals(userId, booking.getItem().getOwner().getId());
-            assertEquals("WAITING", booking.getStatus().name());
-            assertTrue(booking.getStart().isAfter(now));
-        }
-    }
-
-    @Test
-    void findAllRejectedBookingsByOwnerId_ReturnsCorrectBookings() {
-        Long userId = user.getId();
-        Pageable pageable = PageRequest.of(0, 10, Sort.by("start").descending());
-
-        List<Booking> bookings = bookingRepository.findAllRejectedBookingsByOwnerId(userId, pageable);
-
-        assertThat(bookings).isNotNull();
-        for (Booking booking : bookings) {
-            assertEquals(userId, booking.getItem().getOwner().getId());
-            assertEquals("REJECTED", booking.getStatus().name());
-        }
-    }
-
     @Test
     void findAllByUserBookings_ReturnsCorrectBookings() {
         Long userId = user.getId();
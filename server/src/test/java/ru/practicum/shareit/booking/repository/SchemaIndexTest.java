@@ -0,0 +1,75 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JdbcTest
+class SchemaIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void bookerBookingsQuery_usesIndex() {
+        assertThat(explain("SELECT * FROM bookings b WHERE b.booker_id = 1 "
+                + "AND (b.start_date < CURRENT_TIMESTAMP OR (b.start_date = CURRENT_TIMESTAMP AND b.id < 10)) "
+                + "ORDER BY b.start_date DESC, b.id DESC LIMIT 10"))
+                .doesNotContain("tableScan");
+    }
+
+    @Test
+    void lastBookingQuery_usesIndex() {
+        assertThat(explain("SELECT * FROM bookings b WHERE b.item_id = 1 AND b.status = 'APPROVED' "
+                + "AND b.start_date <= CURRENT_TIMESTAMP ORDER BY b.start_date DESC LIMIT 1"))
+                .doesNotContain("tableScan");
+    }
+
+    @Test
+    void ownerItemsQuery_usesIndex() {
+        assertThat(explain("SELECT * FROM items i WHERE i.owner_id = 1 AND i.id > 0 ORDER BY i.id LIMIT 10"))
+                .doesNotContain("tableScan");
+    }
+
+    @Test
+    void requestItemsQuery_usesIndex() {
+        assertThat(explain("SELECT * FROM items i WHERE i.request_id IN (1, 2, 3)"))
+                .doesNotContain("tableScan");
+    }
+
+    @Test
+    void itemCommentsQuery_usesIndex() {
+        assertThat(explain("SELECT * FROM comments c WHERE c.item_id IN (1, 2, 3) ORDER BY c.created DESC"))
+                .doesNotContain("tableScan");
+    }
+
+    @Test
+    void userRequestsQuery_usesIndex() {
+        assertThat(explain("SELECT * FROM requests r WHERE r.requestor_id = 1 ORDER BY r.created DESC"))
+                .doesNotContain("tableScan");
+    }
+
+    @Test
+    void migrations_createCompositeIndexes() {
+        assertThat(indexColumns("IDX_BOOKINGS_BOOKER_START")).containsExactly("BOOKER_ID", "START_DATE", "ID");
+        assertThat(indexColumns("IDX_BOOKINGS_ITEM_STATUS_START")).containsExactly("ITEM_ID", "STATUS", "START_DATE");
+        assertThat(indexColumns("IDX_ITEMS_OWNER")).containsExactly("OWNER_ID", "ID");
+        assertThat(indexColumns("IDX_ITEMS_REQUEST")).containsExactly("REQUEST_ID");
+        assertThat(indexColumns("IDX_COMMENTS_ITEM")).containsExactly("ITEM_ID", "CREATED");
+        assertThat(indexColumns("IDX_REQUESTS_REQUESTOR")).containsExactly("REQUESTOR_ID", "CREATED");
+    }
+
+    private List<String> indexColumns(String indexName) {
+        return jdbcTemplate.queryForList("SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.INDEX_COLUMNS "
+                + "WHERE INDEX_NAME = ? ORDER BY ORDINAL_POSITION", String.class, indexName);
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.booking.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.enums.BatchMode;
+import ru.practicum.shareit.item.dto.ItemDtoOut;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts the SQL statements a batch booking issues, so that a change that brings back one INSERT per booking,
+ * such as identity ids or a flush per row, fails here. The bound leaves room for the id sequence being called
+ * once or twice, depending on where its pool stands.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookingBatchStatisticsTest {
+    private static final int BOOKINGS = 50;
+    private static final int MAX_STATEMENTS = 8;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    private Long bookerId;
+    private Long itemId;
+
+    @BeforeAll
+    void setUp() {
+        Long ownerId = userService.addUser(new UserDto(null, "owner", "owner@email.com")).getId();
+        bookerId = userService.addUser(new UserDto(null, "booker", "booker@email.com")).getId();
+        itemId = itemService.addItem(new ItemDtoOut(null, "drill", "cordless drill", true, null), ownerId).getId();
+    }
+
+    @Test
+    void createBatch() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<BookItemRequestDto> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            BookItemRequestDto booking = new BookItemRequestDto();
+            booking.setItemId(itemId);
+            booking.setStart(start.plusHours(2L * i));
+            booking.setEnd(start.plusHours(2L * i + 1));
+            bookings.add(booking);
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        BookingBatchResultDto result = bookingService.createBatch(bookerId, bookings, BatchMode.PARTIAL);
+
+        assertEquals(BOOKINGS, result.getCreated().size());
+        assertEquals(BOOKINGS, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= MAX_STATEMENTS,
+                statistics.getPrepareStatementCount() + " statements for " + BOOKINGS + " bookings");
+    }
+}
@@ -0,0 +1,201 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.retry.annotation.AnnotationAwareRetryOperationsInterceptor;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.enums.Status;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDtoOut;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    private ExecutorService executor;
+    private Long ownerId;
+    private Long bookerId;
+    private Long itemId;
+
+    @BeforeEach
+    void beforeEach() {
+        executor = Executors.newFixedThreadPool(THREADS);
+        ownerId = userService.addUser(createUserDto("owner", "owner@email.com")).getId();
+        bookerId = userService.addUser(createUserDto("booker", "booker@email.com")).getId();
+
+        ItemDtoOut itemDto = new ItemDtoOut();
+        itemDto.setName("item name");
+        itemDto.setDescription("item description");
+        itemDto.setAvailable(true);
+        itemId = itemService.addItem(itemDto, ownerId).getId();
+    }
+
+    @AfterEach
+    void afterEach() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void update_retryAdviceWrapsTransactionAdvice() {
+        List<Class<?>> advice = new ArrayList<>();
+        for (Advisor advisor : ((Advised) bookingService).getAdvisors()) {
+            advice.add(advisor.getAdvice().getClass());
+        }
+
+        int retry = advice.indexOf(AnnotationAwareRetryOperationsInterceptor.class);
+        int transaction = advice.indexOf(TransactionInterceptor.class);
+        assertTrue(retry >= 0 && retry < transaction, advice.toString());
+    }
+
+    @Test
+    void update_whenApprovedConcurrently_thenExactlyOneSucceeds() throws Exception {
+        Long bookingId = createBooking(1).getId();
+
+        List<Callable<BookingOutDto>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            boolean approved = i % 2 == 0;
+            tasks.add(() -> bookingService.update(ownerId, bookingId, approved));
+        }
+
+        List<Object> results = runConcurrently(tasks);
+
+        List<BookingOutDto> succeeded = new ArrayList<>();
+        for (Object result : results) {
+            if (result instanceof BookingOutDto) {
+                succeeded.add((BookingOutDto) result);
+            } else {
+                assertInstanceOf(ValidationException.class, result);
+            }
+        }
+        assertEquals(1, succeeded.size());
+
+        Booking booking = bookingRepository.findById(bookingId).orElseThrow();
+        assertEquals(succeeded.get(0).getStatus(), booking.getStatus());
+        assertTrue(booking.getStatus() == Status.APPROVED || booking.getStatus() == Status.REJECTED);
+        assertEquals(1L, booking.getVersion());
+    }
+
+    @Test
+    void update_whenDifferentBookingsApprovedConcurrently_thenAllSucceed() throws Exception {
+        List<Callable<BookingOutDto>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Long bookingId = createBooking(i + 1).getId();
+            tasks.add(() -> bookingService.update(ownerId, bookingId, true));
+        }
+
+        List<Object> results = runConcurrently(tasks);
+
+        for (Object result : results) {
+            assertInstanceOf(BookingOutDto.class, result);
+            assertEquals(Status.APPROVED, ((BookingOutDto) result).getStatus());
+        }
+    }
+
+    @Test
+    void create_whenOverlappingBookingsCreatedConcurrently_thenExactlyOneSucceeds() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        List<Callable<BookingOutDto>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            LocalDateTime bookingStart = start.plusMinutes(i);
+            tasks.add(() -> bookingService.create(bookerId, createBookingDto(bookingStart, bookingStart.plusHours(1))));
+        }
+
+        List<Object> results = runConcurrently(tasks);
+
+        long succeeded = results.stream().filter(BookingOutDto.class::isInstance).count();
+        results.stream()
+                .filter(result -> !(result instanceof BookingOutDto))
+                .forEach(result -> assertInstanceOf(ConflictException.class, result));
+        assertEquals(1, succeeded);
+        assertEquals(1, bookingRepository.count());
+    }
+
+    private BookingOutDto createBooking(int daysFromNow) {
+        LocalDateTime start = LocalDateTime.now().plusDays(daysFromNow);
+        return bookingService.create(bookerId, createBookingDto(start, start.plusHours(1)));
+    }
+
+    private BookItemRequestDto createBookingDto(LocalDateTime start, LocalDateTime end) {
+        BookItemRequestDto bookingDto = new BookItemRequestDto();
+        bookingDto.setItemId(itemId);
+        bookingDto.setStart(start);
+        bookingDto.setEnd(end);
+        return bookingDto;
+    }
+
+    private List<Object> runConcurrently(List<Callable<BookingOutDto>> tasks) throws InterruptedException {
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<BookingOutDto>> futures = new ArrayList<>();
+        for (Callable<BookingOutDto> task : tasks) {
+            futures.add(executor.submit(() -> {
+                startGate.await();
+                return task.call();
+            }));
+        }
+        startGate.countDown();
+
+        List<Object> results = new ArrayList<>();
+        for (Future<BookingOutDto> future : futures) {
+            try {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            } catch (ExecutionException e) {
+                results.add(e.getCause());
+            } catch (TimeoutException e) {
+                throw new IllegalStateException("Booking update did not finish in time", e);
+            }
+        }
+        return results;
+    }
+
+    private UserDto createUserDto(String name, String email) {
+        UserDto userDto = new UserDto();
+        userDto.setName(name);
+        userDto.setEmail(email);
+        return userDto;
+    }
+}
@@ -6,16 +6,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityEngine;
+import ru.practicum.shareit.booking.availability.BookingIntervalIndex;
+import ru.practicum.shareit.booking.availability.BookingOverlapChecker;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingOutDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingQueryEngine;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.enums.BookingRole;
+import ru.practicum.shareit.enums.State;
 import ru.practicum.shareit.enums.Status;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemBookingTracker;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -27,7 +34,9 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static ru.practicum.shareit.booking.mapper.BookingMapper.toBooking;
@@ -40,12 +49,27 @@ class BookingServiceImplTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private BookingQueryEngine bookingQueryEngine;
+
     @Mock
     private UserRepository userRepository;
 
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private BookingAvailabilityEngine availabilityEngine;
+
+    @Mock
+    private BookingIntervalIndex intervalIndex;
+
+    @Mock
+    private BookingOverlapChecker overlapChecker;
+
+    @Mock
+    private ItemBookingTracker itemBookingTracker;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -131,7 +155,7 @@ class BookingServiceImplTest {
 
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
 
-        when(bookingRepository.save(any(Booking.class))).thenReturn(toBooking(bookingDto, item, user));
+        when(availabilityEngine.book(any(Booking.class))).thenReturn(toBooking(bookingDto, item, user));
 
         BookingOutDto actualBookingDtoOut = bookingService.create(userDto.getId(), bookingDto);
 
@@ -256,9 +280,10 @@ class BookingServiceImplTest {
         Long userId = userDto.getId();
         List<BookingOutDto> expectedBookingsDtoOut = List.of(toBookingDtoOut(booking));
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(bookingRepository.findAllByBookerId(anyLong(), any(Pageable.class))).thenReturn(List.of(booking));
+        when(bookingQueryEngine.find(eq(BookingRole.BOOKER), anyLong(), eq(State.ALL), any(LocalDateTime.class),
+                any(BookingCursor.class), anyInt(), anyInt())).thenReturn(List.of(toBookingDtoOut(booking)));
 
-        List<BookingOutDto> actualBookingsDtoOut = bookingService.getAllByBooker(user.getId(), "ALL", 0, 10);
+        List<BookingOutDto> actualBookingsDtoOut = bookingService.getAllByBooker(user.getId(), "ALL", 0, 10, null);
 
         assertEquals(expectedBookingsDtoOut, actualBookingsDtoOut);
     }
@@ -268,10 +293,10 @@ class BookingServiceImplTest {
         Long userId = userDto.getId();
         List<BookingOutDto> expectedBookingsDtoOut = List.of(toBookingDtoOut(booking));
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(bookingRepository.findAllCurrentBookingsByBookerId(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+        when(bookingQueryEngine.find(eq(BookingRole.BOOKER), anyLong(), eq(State.CURRENT), any(LocalDateTime.class),
+                any(BookingCursor.class), anyInt(), anyInt())).thenReturn(List.of(toBookingDtoOut(booking)));
 
-        List<BookingOutDto> actualBookingsDtoOut = bookingService.getAllByBooker(user.getId(), "CURRENT", 0, 10);
+        List<BookingOutDto> actualBookingsDtoOut = bookingService.getAllByBooker(user.getId(), "CURRENT", 0, 10, null);
 
         assertEquals(expectedBookingsDtoOut, actualBookingsDtoOut);
     }
@@ -281,10 +306,10 @@ class BookingServiceImplTest {
         Long userId = userDto.getId();
         List<BookingOutDto> expectedBookingsDtoOut = List.of(toBookingDtoOut(booking));
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(bookingRepository.findAllPastBookingsByBookerId(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+        when(bookingQueryEngine.find(eq(BookingRole.BOOKER), anyLong(), eq(State.PAST), any(LocalDateTime.class),
+                any(BookingCursor.class), anyInt(), anyInt())).thenReturn(List.of(toBookingDtoOut(booking)));
 
-        List<BookingOutDto> actualBookingsDtoOut = bookingService.getAllByBooker(user.getId(), "PAST", 0, 10);
+        List<BookingOutDto> actualBookingsDtoOut = bookingService.getAllByBooker(user.getId(), "PAST", 0, 10, null);
 
         assertEquals(expectedBookingsDtoOut, actualBookingsDtoOut);
     }
@@ -294,10 +319,10 @@ class BookingServiceImplTest {
         Long userId = userDto.getId();
         List<BookingOutDto> expectedBookingsDtoOut = List.of(toBookingDtoOut(booking));
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(bookingRepository.findAllFutureBookingsByBookerId(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+        when(bookingQueryEngine.find(eq(BookingRole.BOOKER), anyLong(), eq(State.FUTURE), any(LocalDateTime.class),
+                any(BookingCursor.class), anyInt(), anyInt())).thenReturn(List.of(toBookingDtoOut(booking)));
 
-        List<BookingOutDto> actualBookingsDtoOut = bookingService.getAllByBooker(user.getId(), "FUTURE", 0, 10);
+        List<BookingOutDto> actualBookingsDtoOut = bookingService.getAllByBooker(user.getId(), "FUTURE", 0, 10, null);
 
         assertEquals(expectedBookingsDtoOut, actualBookingsDtoOut);
     }
@@ -307,10 +332,10 @@ class BookingServiceImplTest {
         Long userId = userDto.getId();
         List<BookingOutDto> expectedBookingsDtoOut = List.of(toBookingDtoOut(booking));
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(bookingRepository.findAllWaitingBookingsByBookerId(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+        when(bookingQueryEngine.find(eq(BookingRole.BOOKER), anyLong(), eq(State.WAITING), any(LocalDateTime.class),
+                any(BookingCursor.class), anyInt(), anyInt())).thenReturn(List.of(toBookingDtoOut(booking)));
 
-        List<BookingOutDto> actualBookingsDtoOut = bookingService.getAllByBooker(user.getId(), "WAITING", 0, 10);
+        List<BookingOutDto> actualBookingsDtoOut = bookingService.getAllByBooker(user.getId(), "WAITING", 0, 10, null);
 
         assertEquals(expectedBookingsDtoOut, actualBookingsDtoOut);
     }
@@ -320,10 +345,10 @@ class BookingServiceImplTest {
         Long userId = userDto.getId();
         List<BookingOutDto> expectedBookingsDtoOut = List.of(toBookingDtoOut(booking));
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(bookingRepository.findAllRejectedBookingsByBookerId(anyLong(), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+        when(bookingQueryEngine.find(eq(BookingRole.BOOKER), anyLong(), eq(State.REJECTED), any(LocalDateTime.class),
+                any(BookingCursor.class), anyInt(), anyInt())).thenReturn(List.of(toBookingDtoOut(booking)));
 
-        List<BookingOutDto> actualBookingsDtoOut = bookingService.getAllByBooker(user.getId(), "REJECTED", 0, 10);
+        List<BookingOutDto> actualBookingsDtoOut = bookingService.getAllByBooker(user.getId(), "REJECTED", 0, 10, null);
 
         assertEquals(expectedBookingsDtoOut, actualBookingsDtoOut);
     }
@@ -334,7 +359,7 @@ class BookingServiceImplTest {
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
 
         assertThrows(IllegalArgumentException.class,
-                () -> bookingService.getAllByBooker(user.getId(), "INVALID_STATE", 0, 10));
+                () -> bookingService.getAllByBooker(user.getId(), "INVALID_STATE", 0, 10, null));
     }
 
     @Test
@@ -342,9 +367,10 @@ class BookingServiceImplTest {
         Long userId = userDto.getId();
         List<BookingOutDto> expectedBookingsDtoOut = List.of(toBookingDtoOut(booking));
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(bookingRepository.findAllByOwnerId(anyLong(), any(Pageable.class))).thenReturn(List.of(booking));
+        when(bookingQueryEngine.find(eq(BookingRole.OWNER), anyLong(), eq(State.ALL), any(LocalDateTime.class),
+                any(BookingCursor.class), anyInt(), anyInt())).thenReturn(List.of(toBookingDtoOut(booking)));
 
-        List<BookingOutDto> actualBookingsDtoOut = bookingService.getAllByOwner(user.getId(), "ALL", 0, 10);
+        List<BookingOutDto> actualBookingsDtoOut = bookingService.getAllByOwner(user.getId(), "ALL", 0, 10, null);
 
         assertEquals(expectedBookingsDtoOut, actualBookingsDtoOut);
     }
@@ -354,10 +380,10 @@ class BookingServiceImplTest {
         Long userId = userDto.getId();
         List<BookingOutDto> expectedBookingsDtoOut = List.of(toBookingDtoOut(booking));
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(bookingRepository.findAllCurrentBookingsByOwnerId(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+        when(bookingQueryEngine.find(eq(BookingRole.OWNER), anyLong(), eq(State.CURRENT), any(LocalDateTime.class),
+                any(BookingCursor.class), anyInt(), anyInt())).thenReturn(List.of(toBookingDtoOut(booking)));
 
-        List<BookingOutDto> actualBookingsDtoOut = bookingService.getAllByOwner(user.getId(), "CURRENT", 0, 10);
+        List<BookingOutDto> actualBookingsDtoOut = bookingService.getAllByOwner(user.getId(), "CURRENT", 0, 10, null);
 
         assertEquals(expectedBookingsDtoOut, actualBookingsDtoOut);
     }
@@ -367,10 +393,10 @@ class BookingServiceImplTest {
         Long userId = userDto.getId();
         List<BookingOutDto> expectedBookingsDtoOut = List.of(toBookingDtoOut(booking));
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(bookingRepository.findAllPastBookingsByOwnerId(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+        when(bookingQueryEngine.find(eq(BookingRole.OWNER), anyLong(), eq(State.PAST), any(LocalDateTime.class),
+                any(BookingCursor.class), anyInt(), anyInt())).thenReturn(List.of(toBookingDtoOut(booking)));
 
-        List<BookingOutDto> actualBookingsDtoOut = bookingService.getAllByOwner(user.getId(), "PAST", 0, 10);
+        List<BookingOutDto> actualBookingsDtoOut = bookingService.getAllByOwner(user.getId(), "PAST", 0, 10, null);
 
         assertEquals(expectedBookingsDtoOut, actualBookingsDtoOut);
     }
@@ -380,10 +406,10 @@ class BookingServiceImplTest {
         Long userId = userDto.getId();
         List<BookingOutDto> expectedBookingsDtoOut = List.of(toBookingDtoOut(booking));
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(bookingRepository.findAllFutureBookingsByOwnerId(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+        when(bookingQueryEngine.find(eq(BookingRole.OWNER), anyLong(), eq(State.FUTURE), any(LocalDateTime.class),
+                any(BookingCursor.class), anyInt(), anyInt())).thenReturn(List.of(toBookingDtoOut(booking)));
 
-        List<BookingOutDto> actualBookingsDtoOut = bookingService.getAllByOwner(user.getId(), "FUTURE", 0, 10);
+        List<BookingOutDto> actualBookingsDtoOut = bookingService.getAllByOwner(user.getId(), "FUTURE", 0, 10, null);
 
         assertEquals(expectedBookingsDtoOut, actualBookingsDtoOut);
     }
@@ -393,10 +419,10 @@ class BookingServiceImplTest {
         Long userId = userDto.getId();
         List<BookingOutDto> expectedBookingsDtoOut = List.of(toBookingDtoOut(booking));
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(bookingRepository.findAllWaitingBookingsByOwnerId(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+        when(bookingQueryEngine.find(eq(BookingRole.OWNER), anyLong(), eq(State.WAITING), any(LocalDateTime.class),
+                any(BookingCursor.class), anyInt(), anyInt())).thenReturn(List.of(toBookingDtoOut(booking)));
 
-        List<BookingOutDto> actualBookingsDtoOut = bookingService.getAllByOwner(user.getId(), "WAITING", 0, 10);
+        List<BookingOutDto> actualBookingsDtoOut = bookingService.getAllByOwner(user.getId(), "WAITING", 0, 10, null);
 
         assertEquals(expectedBookingsDtoOut, actualBookingsDtoOut);
     }
@@ -406,10 +432,10 @@ class BookingServiceImplTest {
         Long userId = userDto.getId();
         List<BookingOutDto> expectedBookingsDtoOut = List.of(toBookingDtoOut(booking));
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(bookingRepository.findAllRejectedBookingsByOwnerId(anyLong(), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+        when(bookingQueryEngine.find(eq(BookingRole.OWNER), anyLong(), eq(State.REJECTED), any(LocalDateTime.class),
+                any(BookingCursor.class), anyInt(), anyInt())).thenReturn(List.of(toBookingDtoOut(booking)));
 
-        List<BookingOutDto> actualBookingsDtoOut = bookingService.getAllByOwner(user.getId(), "REJECTED", 0, 10);
+        List<BookingOutDto> actualBookingsDtoOut = bookingService.getAllByOwner(user.getId(), "REJECTED", 0, 10, null);
 
         assertEquals(expectedBookingsDtoOut, actualBookingsDtoOut);
     }
@@ -420,6 +446,6 @@ class BookingServiceImplTest {
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
 
         assertThrows(IllegalArgumentException.class,
-                () -> bookingService.getAllByOwner(user.getId(), "INVALID_STATE", 0, 10));
+                () -> bookingService.getAllByOwner(user.getId(), "INVALID_STATE", 0, 10, null));
     }
 }
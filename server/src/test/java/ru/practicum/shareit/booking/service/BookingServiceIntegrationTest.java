@@ -4,12 +4,19 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.availability.BookingOverlapChecker;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.enums.BatchMode;
 import ru.practicum.shareit.enums.State;
 import ru.practicum.shareit.enums.Status;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemDtoOut;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -17,9 +24,13 @@ import ru.practicum.shareit.user.service.UserService;
 
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
 
 @Transactional
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
@@ -35,6 +46,9 @@ public class BookingServiceIntegrationTest {
     @Autowired
     private ItemService itemService;
 
+    @SpyBean
+    private BookingOverlapChecker overlapChecker;
+
     private UserDto createUserDto(String name, String email) {
         UserDto userDto = new UserDto();
         userDto.setName(name);
@@ -78,12 +92,171 @@ public class BookingServiceIntegrationTest {
         assertEquals(Status.APPROVED, updatedBookingDto1.getStatus());
 
         List<BookingOutDto> bookingsDtoOut = bookingService.getAllByOwner(addedUser2.getId(),
-                State.ALL.toString(), 0, 10);
+                State.ALL.toString(), 0, 10, null);
 
         assertEquals(1, bookingsDtoOut.size());
     }
 
 
+    @Test
+    void getAllByBookerWithCursorTest() {
+        UserDto owner = userService.addUser(createUserDto("owner", "owner@email.com"));
+        UserDto booker = userService.addUser(createUserDto("booker", "booker@email.com"));
+        Long itemId = itemService.addItem(createItemDto("item name", "item description", true), owner.getId()).getId();
+        Long otherItemId = itemService.addItem(createItemDto("other name", "other description", true),
+                owner.getId()).getId();
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        BookingOutDto first = bookingService.create(booker.getId(), createBookingDto(itemId, start, start.plusHours(1)));
+        BookingOutDto second = bookingService.create(booker.getId(),
+                createBookingDto(otherItemId, start, start.plusHours(2)));
+        BookingOutDto third = bookingService.create(booker.getId(),
+                createBookingDto(itemId, start.minusDays(1), start.minusHours(20)));
+
+        List<BookingOutDto> firstPage = bookingService.getAllByBooker(booker.getId(), State.ALL.toString(), 0, 2, null);
+        String cursor = BookingCursor.after(firstPage.get(firstPage.size() - 1)).encode();
+        List<BookingOutDto> secondPage = bookingService.getAllByBooker(booker.getId(), State.ALL.toString(), 0, 2,
+                cursor);
+
+        assertEquals(List.of(second.getId(), first.getId()),
+                List.of(firstPage.get(0).getId(), firstPage.get(1).getId()));
+        assertEquals(1, secondPage.size());
+        assertEquals(third.getId(), secondPage.get(0).getId());
+    }
+
+    @Test
+    void getAllByBooker_whenCursorIsMalformed_ThrowsValidationException() {
+        UserDto booker = userService.addUser(createUserDto("booker", "booker@email.com"));
+
+        Assertions.assertThrows(ValidationException.class,
+                () -> bookingService.getAllByBooker(booker.getId(), State.ALL.toString(), 0, 2, "not-a-cursor"));
+    }
+
+    @Test
+    void create_whenPeriodOverlapsActiveBooking_ThrowsConflictException() {
+        UserDto owner = userService.addUser(createUserDto("owner", "owner@email.com"));
+        UserDto booker = userService.addUser(createUserDto("booker", "booker@email.com"));
+        Long itemId = itemService.addItem(createItemDto("item name", "item description", true), owner.getId()).getId();
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        bookingService.create(booker.getId(), createBookingDto(itemId, start, start.plusHours(2)));
+
+        Assertions.assertThrows(ConflictException.class, () -> bookingService.create(booker.getId(),
+                createBookingDto(itemId, start.plusHours(1), start.plusHours(3))));
+        Assertions.assertThrows(ConflictException.class, () -> bookingService.create(booker.getId(),
+                createBookingDto(itemId, start.minusHours(1), start.plusHours(3))));
+    }
+
+    @Test
+    void create_whenPeriodIsAdjacentOrOverlapsRejectedBooking_thenCreated() {
+        UserDto owner = userService.addUser(createUserDto("owner", "owner@email.com"));
+        UserDto booker = userService.addUser(createUserDto("booker", "booker@email.com"));
+        Long itemId = itemService.addItem(createItemDto("item name", "item description", true), owner.getId()).getId();
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        BookingOutDto rejected = bookingService.create(booker.getId(),
+                createBookingDto(itemId, start, start.plusHours(2)));
+        bookingService.update(owner.getId(), rejected.getId(), false);
+
+        BookingOutDto overlapping = bookingService.create(booker.getId(),
+                createBookingDto(itemId, start, start.plusHours(2)));
+        BookingOutDto adjacent = bookingService.create(booker.getId(),
+                createBookingDto(itemId, start.plusHours(2), start.plusHours(3)));
+
+        assertEquals(Status.WAITING, overlapping.getStatus());
+        assertEquals(Status.WAITING, adjacent.getStatus());
+    }
+
+    @Test
+    void createBatch_whenPartial_thenCreatesAcceptedRowsAndReportsErrors() {
+        UserDto owner = userService.addUser(createUserDto("owner", "owner@email.com"));
+        UserDto booker = userService.addUser(createUserDto("booker", "booker@email.com"));
+        Long itemId = itemService.addItem(createItemDto("item name", "item description", true), owner.getId()).getId();
+        Long unavailableId = itemService.addItem(createItemDto("other name", "other description", false),
+                owner.getId()).getId();
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        bookingService.create(booker.getId(), createBookingDto(itemId, start, start.plusHours(2)));
+
+        BookingBatchResultDto result = bookingService.createBatch(booker.getId(), List.of(
+                createBookingDto(itemId, start.plusHours(2), start.plusHours(3)),
+                createBookingDto(itemId, start.plusHours(1), start.plusHours(4)),
+                createBookingDto(unavailableId, start, start.plusHours(1)),
+                createBookingDto(999L, start, start.plusHours(1)),
+                createBookingDto(itemId, start.plusHours(3), start.plusHours(4))), BatchMode.PARTIAL);
+
+        assertEquals(2, result.getCreated().size());
+        assertEquals(List.of(1, 2, 3), result.getErrors().stream()
+                .map(BookingBatchResultDto.RowError::getIndex).collect(Collectors.toList()));
+        assertEquals(List.of(409, 400, 404), result.getErrors().stream()
+                .map(BookingBatchResultDto.RowError::getStatus).collect(Collectors.toList()));
+        assertEquals(3, bookingService.getAllByBooker(booker.getId(), State.ALL.toString(), 0, 10, null).size());
+    }
+
+    @Test
+    void createBatch_whenPartialAndPeriodIsTakenAfterPreCheck_thenReportsOnlyThatRow() {
+        UserDto owner = userService.addUser(createUserDto("owner", "owner@email.com"));
+        UserDto booker = userService.addUser(createUserDto("booker", "booker@email.com"));
+        UserDto rival = userService.addUser(createUserDto("rival", "rival@email.com"));
+        Long itemId = itemService.addItem(createItemDto("item name", "item description", true), owner.getId()).getId();
+        Long otherItemId = itemService.addItem(createItemDto("other name", "other description", true),
+                owner.getId()).getId();
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        doAnswer(invocation -> {
+            Object conflicts = invocation.callRealMethod();
+            bookingService.create(rival.getId(), createBookingDto(itemId, start, start.plusHours(2)));
+            return conflicts;
+        }).doCallRealMethod().when(overlapChecker).findConflicts(anyList());
+
+        BookingBatchResultDto result = bookingService.createBatch(booker.getId(), List.of(
+                createBookingDto(otherItemId, start, start.plusHours(2)),
+                createBookingDto(itemId, start.plusHours(1), start.plusHours(3))), BatchMode.PARTIAL);
+
+        assertEquals(1, result.getCreated().size());
+        assertEquals((long) otherItemId, result.getCreated().get(0).getItem().getId());
+        assertEquals(1, result.getErrors().size());
+        assertEquals(1, result.getErrors().get(0).getIndex());
+        assertEquals(409, result.getErrors().get(0).getStatus());
+        assertEquals(1, bookingService.getAllByBooker(booker.getId(), State.ALL.toString(), 0, 10, null).size());
+    }
+
+    @Test
+    void createBatch_whenAllOrNothingAndRowFails_thenCreatesNothing() {
+        UserDto owner = userService.addUser(createUserDto("owner", "owner@email.com"));
+        UserDto booker = userService.addUser(createUserDto("booker", "booker@email.com"));
+        Long itemId = itemService.addItem(createItemDto("item name", "item description", true), owner.getId()).getId();
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        BookingBatchResultDto result = bookingService.createBatch(booker.getId(), List.of(
+                createBookingDto(itemId, start, start.plusHours(2)),
+                createBookingDto(itemId, start.plusHours(1), start.plusHours(3))), BatchMode.ALL_OR_NOTHING);
+
+        assertEquals(0, result.getCreated().size());
+        assertEquals(1, result.getErrors().size());
+        assertEquals(1, result.getErrors().get(0).getIndex());
+        assertEquals(0, bookingService.getAllByBooker(booker.getId(), State.ALL.toString(), 0, 10, null).size());
+    }
+
+    @Test
+    void createBatch_whenAllOrNothingAndRowsAreValid_thenCreatesAll() {
+        UserDto owner = userService.addUser(createUserDto("owner", "owner@email.com"));
+        UserDto booker = userService.addUser(createUserDto("booker", "booker@email.com"));
+        Long itemId = itemService.addItem(createItemDto("item name", "item description", true), owner.getId()).getId();
+        Long otherItemId = itemService.addItem(createItemDto("other name", "other description", true),
+                owner.getId()).getId();
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        BookingBatchResultDto result = bookingService.createBatch(booker.getId(), List.of(
+                createBookingDto(itemId, start, start.plusHours(2)),
+                createBookingDto(otherItemId, start, start.plusHours(2)),
+                createBookingDto(itemId, start.plusHours(2), start.plusHours(3))), BatchMode.ALL_OR_NOTHING);
+
+        assertEquals(3, result.getCreated().size());
+        assertEquals(0, result.getErrors().size());
+        assertEquals(Status.WAITING, result.getCreated().get(0).getStatus());
+    }
+
     @Test
     void update_whenBookingIdAndUserIdAreNotValid_ThrowsObjectNotFoundException() {
         Long userId = 3L;
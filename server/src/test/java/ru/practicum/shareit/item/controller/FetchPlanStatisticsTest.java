@@ -0,0 +1,138 @@
+package ru.practicum.shareit.item.controller;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.comment.dto.CommentRequestDto;
+import ru.practicum.shareit.item.dto.ItemDtoOut;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.Constant;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the SQL statements each read endpoint issues for a small fixture, so that a change to the fetch plans
+ * that brings back per-row association loads fails here.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FetchPlanStatisticsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    private Long ownerId;
+    private Long bookerId;
+    private Long itemId;
+    private Long bookingId;
+
+    @BeforeAll
+    void setUp() {
+        ownerId = userService.addUser(new UserDto(null, "owner", "owner@email.com")).getId();
+        bookerId = userService.addUser(new UserDto(null, "booker", "booker@email.com")).getId();
+
+        ItemRequestDto requestDto = new ItemRequestDto();
+        requestDto.setDescription("need a drill");
+        Long requestId = itemRequestService.addNewRequest(requestDto, bookerId).getId();
+
+        itemId = itemService.addItem(new ItemDtoOut(null, "drill", "cordless drill", true, requestId), ownerId)
+                .getId();
+        Long otherItemId = itemService.addItem(new ItemDtoOut(null, "saw", "circular saw", true, null), ownerId)
+                .getId();
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 1; i <= 3; i++) {
+            bookingId = bookingService.create(bookerId, booking(itemId, now.minusDays(10L * i),
+                    now.minusDays(10L * i - 1))).getId();
+            bookingService.update(ownerId, bookingId, true);
+            bookingService.create(bookerId, booking(otherItemId, now.plusDays(i), now.plusDays(i).plusHours(1)));
+        }
+        CommentRequestDto comment = new CommentRequestDto();
+        comment.setText("works great");
+        itemService.createComment(bookerId, comment, itemId);
+    }
+
+    @Test
+    void bookerBookings() throws Exception {
+        assertEquals(2, statements(get("/bookings").header(Constant.REQUEST_HEADER_USER_ID, bookerId)));
+    }
+
+    @Test
+    void ownerBookings() throws Exception {
+        assertEquals(2, statements(get("/bookings/owner").header(Constant.REQUEST_HEADER_USER_ID, ownerId)));
+    }
+
+    @Test
+    void bookingById() throws Exception {
+        assertEquals(1, statements(get("/bookings/{bookingId}", bookingId)
+                .header(Constant.REQUEST_HEADER_USER_ID, bookerId)));
+    }
+
+    @Test
+    void itemByIdForOwner() throws Exception {
+        assertEquals(3, statements(get("/items/{itemId}", itemId).header(Constant.REQUEST_HEADER_USER_ID, ownerId)));
+    }
+
+    @Test
+    void ownerItems() throws Exception {
+        assertEquals(3, statements(get("/items").header(Constant.REQUEST_HEADER_USER_ID, ownerId)));
+    }
+
+    private long statements(RequestBuilder request) throws Exception {
+        cacheManager.getCacheNames().forEach(name -> Objects.requireNonNull(cacheManager.getCache(name)).clear());
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(request).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static BookItemRequestDto booking(Long itemId, LocalDateTime start, LocalDateTime end) {
+        BookItemRequestDto booking = new BookItemRequestDto();
+        booking.setItemId(itemId);
+        booking.setStart(start);
+        booking.setEnd(end);
+        return booking;
+    }
+}
@@ -6,17 +6,24 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import ru.practicum.shareit.enums.Status;
 import ru.practicum.shareit.item.comment.dto.CommentRequestDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDtoOut;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.util.Constant;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.Mockito.*;
@@ -34,6 +41,9 @@ class ItemControllerTest {
     @MockBean
     private ItemService itemService;
 
+    @MockBean
+    private ItemImportService itemImportService;
+
     @Test
     void createItem_whenItemIsValid_ReturnsStatusOk() throws Exception {
         ItemResponseDto itemDtoToCreate = new ItemResponseDto();
@@ -55,6 +65,22 @@ class ItemControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.id").value(IsNull.nullValue()));
     }
 
+    @Test
+    void importItems_whenNdjson_ReturnsImportReport() throws Exception {
+        ItemImportResultDto report = new ItemImportResultDto(1, 1,
+                List.of(new ItemImportResultDto.Error(2, "name: must not be blank")));
+        when(itemImportService.importItems(eq(1L), any())).thenReturn(report);
+
+        mockMvc.perform(post("/items/import")
+                        .content("{\"line\":1,\"name\":\"drill\",\"description\":\"drill\",\"available\":true}\n"
+                                + "{\"line\":2,\"error\":\"name: must not be blank\"}\n")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .header(Constant.REQUEST_HEADER_USER_ID, 1L))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.imported").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[0].line").value(2));
+    }
+
     @Test
     void update_whenItemIsValid_ReturnsStatusIsOk() throws Exception {
         Long itemId = 0L;
@@ -98,12 +124,64 @@ class ItemControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.id").value(itemDtoToCreate.getId()));
     }
 
+    @Test
+    void getAvailability_ReturnsStatusOk() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(1);
+        ItemAvailabilityDto availability = new ItemAvailabilityDto(1L, from, to,
+                List.of(new ItemAvailabilityDto.Interval(from.plusHours(1), from.plusHours(2), Status.APPROVED)),
+                List.of(new ItemAvailabilityDto.Interval(from, from.plusHours(1), null),
+                        new ItemAvailabilityDto.Interval(from.plusHours(2), to, null)));
+
+        when(itemService.getAvailability(1L, 2L, from, to)).thenReturn(availability);
+
+        mockMvc.perform(get("/items/{itemId}/availability", 1L)
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-01-02T00:00:00")
+                        .header(Constant.REQUEST_HEADER_USER_ID, 2L))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.itemId").value(1L))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.busy[0].status").value("APPROVED"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.free.length()").value(2));
+    }
+
+    @Test
+    void get_whenIfNoneMatchEqualsETag_ReturnsNotModified() throws Exception {
+        ItemResponseDto item = new ItemResponseDto();
+        item.setId(1L);
+        item.setName("Drill");
+        item.setDescription("Power drill");
+        item.setAvailable(true);
+
+        when(itemService.getItemById(1L, 1L)).thenReturn(item);
+
+        String etag = mockMvc.perform(get("/items/{itemId}", 1L)
+                        .header(Constant.REQUEST_HEADER_USER_ID, 1L))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/items/{itemId}", 1L)
+                        .header(Constant.REQUEST_HEADER_USER_ID, 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.content().string(""));
+
+        item.setAvailable(false);
+
+        mockMvc.perform(get("/items/{itemId}", 1L)
+                        .header(Constant.REQUEST_HEADER_USER_ID, 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.available").value(false));
+    }
+
     @Test
     void getAll_ReturnsStatusOk() throws Exception {
         Long userId = 0L;
         List<ItemResponseDto> itemsDtoToExpect = List.of(new ItemResponseDto());
 
-        when(itemService.getAllUserItems(anyLong()))
+        when(itemService.getAllUserItems(anyLong(), anyLong()))
                 .thenReturn(itemsDtoToExpect);
 
         mockMvc.perform(MockMvcRequestBuilders.get("/items", userId)
@@ -113,6 +191,54 @@ class ItemControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(itemsDtoToExpect.size()));
+
+        verify(itemService).getAllUserItems(1L, 0L);
+    }
+
+    @Test
+    void getAll_whenSizeGiven_ReturnsOnePage() throws Exception {
+        when(itemService.getAllUserItems(1L, 5L, 2))
+                .thenReturn(List.of(new ItemResponseDto(), new ItemResponseDto()));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/items")
+                        .header(Constant.REQUEST_HEADER_USER_ID, 1L)
+                        .param("afterId", "5")
+                        .param("size", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2));
+
+        verify(itemService, never()).getAllUserItems(anyLong(), anyLong());
+    }
+
+    @Test
+    void streamAll_ReturnsNdjsonPagesUntilLastPage() throws Exception {
+        ItemResponseDto firstItem = new ItemResponseDto();
+        firstItem.setId(1L);
+        ItemResponseDto secondItem = new ItemResponseDto();
+        secondItem.setId(2L);
+        ItemResponseDto thirdItem = new ItemResponseDto();
+        thirdItem.setId(3L);
+
+        when(itemService.getAllUserItems(1L, 0L, 2)).thenReturn(List.of(firstItem, secondItem));
+        when(itemService.getAllUserItems(1L, 2L, 2)).thenReturn(List.of(thirdItem));
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/items")
+                        .header(Constant.REQUEST_HEADER_USER_ID, 1L)
+                        .param("size", "2")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.content().string(
+                        objectMapper.writeValueAsString(firstItem) + "\n"
+                                + objectMapper.writeValueAsString(secondItem) + "\n"
+                                + objectMapper.writeValueAsString(thirdItem) + "\n"));
+
+        verify(itemService, times(2)).getAllUserItems(anyLong(), anyLong(), anyInt());
     }
 
     @Test
@@ -123,15 +249,53 @@ class ItemControllerTest {
         String text = "find";
         List<ItemResponseDto> itemsDtoToExpect = List.of(new ItemResponseDto());
 
-        when(itemService.getAvailableItemBySearch(anyString(), anyLong())).thenReturn(itemsDtoToExpect);
+        when(itemService.getAvailableItemBySearch(anyString(), anyLong(), anyInt(), anyInt())).thenReturn(itemsDtoToExpect);
 
         mockMvc.perform(MockMvcRequestBuilders.get("/items/search", from, size)
                         .characterEncoding(StandardCharsets.UTF_8.toString())
                         .contentType(MediaType.APPLICATION_JSON)
                         .header(Constant.REQUEST_HEADER_USER_ID, userId)
                         .param("text", text)
+                        .param("size", size.toString())
                         .accept(MediaType.APPLICATION_JSON))
-                .andExpect(MockMvcResultMatchers.status().isOk());
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(itemsDtoToExpect.size()));
+    }
+
+    @Test
+    void searchItems_whenSizeMissing_thenReturnsAllMatches() throws Exception {
+        when(itemService.getAvailableItemBySearch("find", 1L, 0))
+                .thenReturn(List.of(new ItemResponseDto(), new ItemResponseDto()));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/items/search")
+                        .header(Constant.REQUEST_HEADER_USER_ID, 1L)
+                        .param("text", "find")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2));
+
+        verify(itemService, never()).getAvailableItemBySearch(anyString(), anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    void searchItems_whenPeriodIsSet_thenSearchFreeItems() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        ItemResponseDto item = new ItemResponseDto();
+        item.setId(1L);
+
+        when(itemService.getFreeItemBySearch("find", 2L, start, start.plusHours(2), 0, 10))
+                .thenReturn(List.of(item));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/items/search")
+                        .header(Constant.REQUEST_HEADER_USER_ID, 2L)
+                        .param("text", "find")
+                        .param("start", "2030-01-01T10:00:00")
+                        .param("end", "2030-01-01T12:00:00")
+                        .param("size", "10"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(1L));
+
+        verify(itemService, never()).getAvailableItemBySearch(anyString(), anyLong(), anyInt(), anyInt());
     }
 
     @Test
@@ -6,8 +6,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.enums.Status;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
@@ -15,8 +18,10 @@ import ru.practicum.shareit.user.model.User;
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.practicum.shareit.util.Constant.BLOCKING_STATUSES;
 
 @DataJpaTest
 @Transactional
@@ -72,12 +77,42 @@ class ItemRepositoryTest {
     void testSearchAvailableItemsByNameOrDescription() {
         String searchText = "test";
 
-        List<Item> items = itemRepository.searchAvailableItemsByNameOrDescription(searchText, Sort.by(Sort.Order.asc("id")));
+        List<Item> items = itemRepository.searchAvailableItemsByNameOrDescription(searchText,
+                PageRequest.of(0, 10, Sort.by(Sort.Order.asc("id"))));
 
         assertEquals(1, items.size());
         assertEquals("TestItem", items.get(0).getName());
     }
 
+    @Test
+    void testSearchAvailableItemsFreeDuring() {
+        User booker = new User();
+        booker.setName("booker");
+        booker.setEmail("booker@email.com");
+        testEntityManager.persist(booker);
+
+        Item bookedItem = new Item();
+        bookedItem.setName("TestBookedItem");
+        bookedItem.setDescription("TestItemDescription");
+        bookedItem.setAvailable(true);
+        bookedItem.setOwner(booker);
+        testEntityManager.persist(bookedItem);
+
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        testEntityManager.persist(new Booking(null, start, start.plusHours(2), bookedItem, booker,
+                Status.APPROVED, null));
+        testEntityManager.flush();
+
+        List<Item> overlapping = itemRepository.searchAvailableItemsFreeDuring("test", start.plusHours(1),
+                start.plusHours(3), BLOCKING_STATUSES, PageRequest.of(0, 10, Sort.by(Sort.Order.asc("id"))));
+        List<Item> adjacent = itemRepository.searchAvailableItemsFreeDuring("test", start.plusHours(2),
+                start.plusHours(3), BLOCKING_STATUSES, PageRequest.of(0, 10, Sort.by(Sort.Order.asc("id"))));
+
+        assertEquals(List.of("TestItem"), overlapping.stream().map(Item::getName).collect(Collectors.toList()));
+        assertEquals(List.of("TestItem", "TestBookedItem"),
+                adjacent.stream().map(Item::getName).collect(Collectors.toList()));
+    }
+
     @Test
     void testFindAllByRequestId() {
         List<Item> items = itemRepository.findAllByRequest_Id(itemRequest.getId());
@@ -85,5 +120,12 @@ class ItemRepositoryTest {
         assertEquals(1, items.size());
         assertEquals("TestItem", items.get(0).getName());
     }
-}
 
+    @Test
+    void testFindAllByRequestIdIn() {
+        List<Item> items = itemRepository.findAllByRequest_IdIn(List.of(itemRequest.getId(), itemRequest.getId() + 1));
+
+        assertEquals(1, items.size());
+        assertEquals(itemRequest.getId(), items.get(0).getRequest().getId());
+    }
+}
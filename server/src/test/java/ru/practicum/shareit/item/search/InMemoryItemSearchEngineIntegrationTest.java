@@ -0,0 +1,67 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.dto.ItemDtoOut;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "shareit.item-search.engine=memory")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class InMemoryItemSearchEngineIntegrationTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemSearchEngine itemSearchEngine;
+
+    @Test
+    void searchFollowsItemUpdates() {
+        assertTrue(itemSearchEngine instanceof InMemoryItemSearchEngine);
+
+        UserDto user = userService.addUser(new UserDto(null, "user", "user@example.com"));
+        ItemResponseDto drill = itemService.addItem(
+                new ItemDtoOut(null, "Drill", "Cordless drill", true, null), user.getId());
+        itemService.addItem(new ItemDtoOut(null, "Drill bits", "Hidden", false, null), user.getId());
+
+        List<ItemResponseDto> found = itemService.getAvailableItemBySearch("drill", user.getId(), 0, 10);
+
+        assertEquals(1, found.size());
+        assertEquals(drill.getId(), found.get(0).getId());
+
+        itemService.updateItem(drill.getId(), new ItemDtoOut(null, null, null, false, null), user.getId());
+
+        assertTrue(itemService.getAvailableItemBySearch("drill", user.getId(), 0, 10).isEmpty());
+    }
+
+    @Test
+    void searchDropsItemsOfDeletedUser() {
+        UserDto owner = userService.addUser(new UserDto(null, "owner", "sander-owner@example.com"));
+        UserDto other = userService.addUser(new UserDto(null, "other", "sander-other@example.com"));
+        itemService.addItem(new ItemDtoOut(null, "Sander", "Orbital sander", true, null), owner.getId());
+        ItemResponseDto otherSander = itemService.addItem(
+                new ItemDtoOut(null, "Sander", "Belt sander", true, null), other.getId());
+
+        userService.deleteUser(owner.getId());
+
+        // a stale id would fill the one-item page and hide the remaining match
+        List<ItemResponseDto> found = itemService.getAvailableItemBySearch("sander", other.getId(), 0, 1);
+
+        assertEquals(1, found.size());
+        assertEquals(otherSander.getId(), found.get(0).getId());
+    }
+}
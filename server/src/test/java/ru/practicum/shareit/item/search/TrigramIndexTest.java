@@ -0,0 +1,61 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TrigramIndexTest {
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex();
+        index.put(3L, "Cordless Drill", "18V, two batteries");
+        index.put(1L, "Hammer", "Steel claw hammer");
+        index.put(2L, "Drill bits", "Set of 20 bits for the drill");
+    }
+
+    @Test
+    void search_whenTextIsInNameOrDescription_thenReturnIdsInAscendingOrder() {
+        assertArrayEquals(new long[]{2L, 3L}, index.search("DRILL", 0, 10));
+        assertArrayEquals(new long[]{1L}, index.search("claw", 0, 10));
+    }
+
+    @Test
+    void search_whenTrigramsMatchButSubstringDoesNot_thenSkipItem() {
+        assertArrayEquals(new long[0], index.search("drill hammer", 0, 10));
+    }
+
+    @Test
+    void search_whenTextIsShorterThanTrigram_thenScanAllItems() {
+        assertArrayEquals(new long[]{2L, 3L}, index.search("dr", 0, 10));
+    }
+
+    @Test
+    void search_whenOffsetAndLimitAreSet_thenReturnRequestedPage() {
+        assertArrayEquals(new long[]{3L}, index.search("drill", 1, 1));
+    }
+
+    @Test
+    void put_whenItemIsReindexed_thenOldTextIsNoLongerFound() {
+        index.put(1L, "Saw", "Hand saw");
+
+        assertArrayEquals(new long[0], index.search("hammer", 0, 10));
+        assertArrayEquals(new long[]{1L}, index.search("saw", 0, 10));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void remove_whenAllItemsAreRemoved_thenMemoryEstimateReturnsToZero() {
+        index.remove(1L);
+        index.remove(2L);
+        index.remove(3L);
+
+        assertEquals(0, index.size());
+        assertEquals(0, index.estimatedBytes());
+        assertArrayEquals(new long[0], index.search("drill", 0, 10));
+    }
+}
@@ -0,0 +1,115 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingItemDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDtoOut;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "shareit.item-bookings.sweep-delay=3600000")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ItemBookingTrackerTest {
+
+    @Autowired
+    private ItemBookingTracker itemBookingTracker;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    private Long ownerId;
+    private Long bookerId;
+    private Long itemId;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = userService.addUser(new UserDto(null, "owner", "owner@example.com")).getId();
+        bookerId = userService.addUser(new UserDto(null, "booker", "booker@example.com")).getId();
+        itemId = itemService.addItem(new ItemDtoOut(null, "drill", "cordless drill", true, null), ownerId).getId();
+        now = LocalDateTime.now();
+    }
+
+    @Test
+    void onStatusChanged_whenApproved_SetsLastAndNextBooking() {
+        Long pastId = approvedBooking(bookerId, now.minusDays(3), now.minusDays(2));
+        approvedBooking(bookerId, now.plusDays(5), now.plusDays(6));
+        Long nextId = approvedBooking(bookerId, now.plusDays(1), now.plusDays(2));
+        Long rejectedId = booking(bookerId, now.plusHours(1), now.plusHours(2));
+        bookingService.update(ownerId, rejectedId, false);
+
+        ItemResponseDto item = itemService.getItemById(itemId, ownerId);
+
+        assertEquals(new BookingItemDto(pastId, bookerId), item.getLastBooking());
+        assertEquals(new BookingItemDto(nextId, bookerId), item.getNextBooking());
+        assertEquals(item.getLastBooking(), itemService.getAllUserItems(ownerId, 0L, 10).get(0).getLastBooking());
+        assertEquals(item.getNextBooking(), itemService.getAllUserItems(ownerId, 0L, 10).get(0).getNextBooking());
+    }
+
+    @Test
+    void sweep_whenNextBookingStarted_AdvancesItToLast() {
+        Long firstId = approvedBooking(bookerId, now.plusDays(1), now.plusDays(2));
+        Long secondId = approvedBooking(bookerId, now.plusDays(3), now.plusDays(4));
+
+        assertEquals(0, itemBookingTracker.sweep(now));
+        assertEquals(1, itemBookingTracker.sweep(now.plusDays(1).plusHours(1)));
+
+        ItemResponseDto item = itemService.getItemById(itemId, ownerId);
+        assertEquals(new BookingItemDto(firstId, bookerId), item.getLastBooking());
+        assertEquals(new BookingItemDto(secondId, bookerId), item.getNextBooking());
+
+        assertEquals(1, itemBookingTracker.sweep(now.plusDays(3).plusHours(1)));
+
+        item = itemService.getItemById(itemId, ownerId);
+        assertEquals(new BookingItemDto(secondId, bookerId), item.getLastBooking());
+        assertNull(item.getNextBooking());
+    }
+
+    @Test
+    void onBookerDeleted_whenItemPointsAtBookerBookings_RecomputesThem() {
+        Long otherBookerId = userService.addUser(new UserDto(null, "other", "other@example.com")).getId();
+        Long otherPastId = approvedBooking(otherBookerId, now.minusDays(5), now.minusDays(4));
+        approvedBooking(bookerId, now.minusDays(2), now.minusDays(1));
+        approvedBooking(bookerId, now.plusDays(1), now.plusDays(2));
+
+        userService.deleteUser(bookerId);
+
+        ItemResponseDto item = itemService.getItemById(itemId, ownerId);
+        assertEquals(new BookingItemDto(otherPastId, otherBookerId), item.getLastBooking());
+        assertNull(item.getNextBooking());
+        ItemResponseDto listed = itemService.getAllUserItems(ownerId, 0L, 10).get(0);
+        assertEquals(item.getLastBooking(), listed.getLastBooking());
+        assertNull(listed.getNextBooking());
+    }
+
+    private Long approvedBooking(Long userId, LocalDateTime start, LocalDateTime end) {
+        Long id = booking(userId, start, end);
+        bookingService.update(ownerId, id, true);
+        return id;
+    }
+
+    private Long booking(Long userId, LocalDateTime start, LocalDateTime end) {
+        BookItemRequestDto booking = new BookItemRequestDto();
+        booking.setItemId(itemId);
+        booking.setStart(start);
+        booking.setEnd(end);
+        return bookingService.create(userId, booking).getId();
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "shareit.item-import.batch-size=2",
+        "shareit.item-import.max-reported-errors=2"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ItemImportServiceIntegrationTest {
+
+    @Autowired
+    private ItemImportService itemImportService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    private Long createUser() {
+        UserDto userDto = new UserDto();
+        userDto.setName("owner");
+        userDto.setEmail("owner@email.com");
+        return userService.addUser(userDto).getId();
+    }
+
+    private static InputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void importItems_whenRowsSpanSeveralBatches_thenSavesValidRowsAndReportsErrors() {
+        Long userId = createUser();
+
+        ItemImportResultDto result = itemImportService.importItems(userId, ndjson(
+                "{\"line\":1,\"name\":\"drill\",\"description\":\"cordless drill\",\"available\":true}",
+                "{\"line\":2,\"error\":\"name: must not be blank\"}",
+                "{\"line\":3,\"name\":\"saw\",\"description\":\"circular saw\",\"available\":false}",
+                "{\"line\":4,\"name\":\"ladder\",\"description\":\"ladder\",\"available\":true,\"requestId\":999}",
+                "{\"line\":5,\"name\":\"hammer\",\"description\":\"hammer\",\"available\":true}",
+                "{\"line\":6,\"error\":\"available: must not be null\"}"));
+
+        assertEquals(3, result.getImported());
+        assertEquals(3, result.getFailed());
+        assertEquals(List.of(2L, 4L), result.getErrors().stream()
+                .map(ItemImportResultDto.Error::getLine).collect(Collectors.toList()));
+        assertEquals("Request with ID 999 not found", result.getErrors().get(1).getError());
+        assertEquals(List.of("drill", "saw", "hammer"), itemService.getAllUserItems(userId, 0L, 10).stream()
+                .map(ItemResponseDto::getName).collect(Collectors.toList()));
+    }
+
+    @Test
+    void importItems_whenRowFailsInDatabase_thenRejectsOnlyThatRow() {
+        Long userId = createUser();
+
+        ItemImportResultDto result = itemImportService.importItems(userId, ndjson(
+                "{\"line\":1,\"name\":\"drill\",\"description\":\"cordless drill\",\"available\":true}",
+                "{\"line\":2,\"name\":\"saw\",\"description\":\"" + "a".repeat(256) + "\",\"available\":true}",
+                "{\"line\":3,\"name\":\"hammer\",\"description\":\"hammer\",\"available\":true}"));
+
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(List.of(2L), result.getErrors().stream()
+                .map(ItemImportResultDto.Error::getLine).collect(Collectors.toList()));
+        assertEquals("Row violates a data constraint", result.getErrors().get(0).getError());
+        assertEquals(List.of("drill", "hammer"), itemService.getAllUserItems(userId, 0L, 10).stream()
+                .map(ItemResponseDto::getName).collect(Collectors.toList()));
+    }
+
+    @Test
+    void importItems_whenRowIsMalformed_thenKeepsEarlierRowsAndThrowsValidationException() {
+        Long userId = createUser();
+
+        assertThrows(ValidationException.class, () -> itemImportService.importItems(userId, ndjson(
+                "{\"line\":1,\"name\":\"drill\",\"description\":\"cordless drill\",\"available\":true}",
+                "{\"line\":2,\"name\":")));
+
+        assertEquals(1, itemService.getAllUserItems(userId, 0L, 10).size());
+    }
+
+    @Test
+    void importItems_whenUserNotFound_thenThrowsObjectNotFoundException() {
+        assertThrows(ObjectNotFoundException.class, () -> itemImportService.importItems(99L, ndjson()));
+    }
+}
@@ -8,6 +8,7 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -18,10 +19,12 @@ import ru.practicum.shareit.item.comment.dto.CommentRequestDto;
 import ru.practicum.shareit.item.comment.dto.CommentResponseDto;
 import ru.practicum.shareit.item.comment.model.Comment;
 import ru.practicum.shareit.item.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.dto.ItemBookingsView;
 import ru.practicum.shareit.item.dto.ItemDtoOut;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
@@ -54,6 +57,9 @@ class ItemServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -239,23 +245,45 @@ class ItemServiceImplTest {
 
     @Test
     void getAllUserItemsTest() {
-        itemDto.setComments(List.of(toCommentDto(comment)));
-        itemDto.setLastBooking(toBookingItemDto(lastBooking));
-        itemDto.setNextBooking(toBookingItemDto(nextBooking));
         List<ItemResponseDto> expectedItemsDto = List.of();
 
         when(userRepository.findById(userDto.getId())).thenReturn(Optional.of(user));
-        List<Item> item = new ArrayList<>(List.of());
-        when(itemRepository.findAllByOwnerIdOrderByIdAsc(anyLong())).thenReturn(item);
-        List<CommentResponseDto> comments = new ArrayList<>(List.of());
-        when(commentRepository.findByItemIdIn(anyList(), any(Sort.class))).thenReturn(comments);
-        when(bookingRepository.findAllByItemInAndStatus(anyList(), any(Status.class), any(Sort.class)))
-                .thenReturn(List.of(lastBooking, nextBooking, pastBooking, futureBooking));
+        when(itemRepository.findAllWithBookingsByOwnerId(anyLong(), anyLong(), any(Pageable.class)))
+                .thenReturn(new ArrayList<>(List.of()));
 
-        List<ItemResponseDto> actualItemsDto = itemService.getAllUserItems(user.getId());
+        List<ItemResponseDto> actualItemsDto = itemService.getAllUserItems(user.getId(), 0L, 10);
 
         assertEquals(actualItemsDto.size(), 0);
         assertEquals(actualItemsDto, expectedItemsDto);
+        verify(commentRepository, never()).findAllByItemIdIn(anyList(), any(Sort.class));
+    }
+
+    @Test
+    void getAllUserItems_whenItemHasBookingsAndComments_thenReturnItemWithLastAndNextBooking() {
+        ItemBookingsView view = mock(ItemBookingsView.class);
+        when(view.getId()).thenReturn(item.getId());
+        when(view.getName()).thenReturn(item.getName());
+        when(view.getDescription()).thenReturn(item.getDescription());
+        when(view.getAvailable()).thenReturn(item.getAvailable());
+        when(view.getRequestId()).thenReturn(null);
+        when(view.getLastBookingId()).thenReturn(lastBooking.getId());
+        when(view.getLastBookerId()).thenReturn(user.getId());
+        when(view.getNextBookingId()).thenReturn(nextBooking.getId());
+        when(view.getNextBookerId()).thenReturn(user.getId());
+
+        itemDto.setComments(List.of(toCommentDto(comment)));
+        itemDto.setLastBooking(toBookingItemDto(lastBooking));
+        itemDto.setNextBooking(toBookingItemDto(nextBooking));
+
+        when(userRepository.findById(userDto.getId())).thenReturn(Optional.of(user));
+        when(itemRepository.findAllWithBookingsByOwnerId(anyLong(), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(view));
+        when(commentRepository.findAllByItemIdIn(anyList(), any(Sort.class))).thenReturn(List.of(comment));
+
+        List<ItemResponseDto> actualItemsDto = itemService.getAllUserItems(user.getId(), 0L, 10);
+
+        assertEquals(List.of(itemDto), actualItemsDto);
+        verify(itemRepository, never()).findAllById(anyList());
     }
 
     @Test
@@ -273,15 +301,41 @@ class ItemServiceImplTest {
     void searchItems() {
         when(userRepository.findById(userDto.getId())).thenReturn(Optional.of(user));
         List<Item> items = List.of(item);
-        when(itemRepository.searchAvailableItemsByNameOrDescription(anyString(), any(Sort.class))).thenReturn(items);
+        when(itemSearchEngine.searchAvailable(anyString(), any(Pageable.class))).thenReturn(items);
 
-        List<ItemResponseDto> actualItemsDto = itemService.getAvailableItemBySearch("item", user.getId());
+        List<ItemResponseDto> actualItemsDto = itemService.getAvailableItemBySearch("item", user.getId(), 0, 10);
 
         assertEquals(1, actualItemsDto.size());
         assertEquals(1, actualItemsDto.get(0).getId());
         assertEquals("item name", actualItemsDto.get(0).getName());
     }
 
+    @Test
+    void getFreeItemBySearch() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(itemSearchEngine.searchAvailableFreeDuring(anyString(), eq(start), eq(start.plusHours(1)),
+                any(Pageable.class))).thenReturn(List.of(item));
+
+        List<ItemResponseDto> actualItemsDto = itemService.getFreeItemBySearch("item", user.getId(), start,
+                start.plusHours(1), 0, 10);
+
+        assertEquals(1, actualItemsDto.size());
+        assertEquals(item.getId(), actualItemsDto.get(0).getId());
+    }
+
+    @Test
+    void getFreeItemBySearch_whenPeriodIsNotValid_ThrowsValidationException() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        assertThrows(ValidationException.class,
+                () -> itemService.getFreeItemBySearch("item", user.getId(), start, start, 0, 10));
+        assertThrows(ValidationException.class,
+                () -> itemService.getFreeItemBySearch("item", user.getId(), start, null, 0, 10));
+        verify(itemSearchEngine, never()).searchAvailableFreeDuring(any(), any(), any(), any());
+    }
+
     @Test
     void createComment() {
         CommentResponseDto expectedCommentDto = toCommentDto(comment);
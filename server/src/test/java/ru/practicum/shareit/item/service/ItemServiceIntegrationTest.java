@@ -4,15 +4,21 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingOutDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.enums.Status;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.comment.dto.CommentRequestDto;
 import ru.practicum.shareit.item.comment.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDtoOut;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.Constant;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -99,7 +105,7 @@ public class ItemServiceIntegrationTest {
         itemService.addItem(itemDtoOut1, addedUser.getId());
         itemService.addItem(itemDtoOut2, addedUser.getId());
 
-        List<ItemResponseDto> userItems = itemService.getAllUserItems(addedUser.getId());
+        List<ItemResponseDto> userItems = itemService.getAllUserItems(addedUser.getId(), 0L, 100);
 
         assertNotNull(userItems);
         assertEquals(2, userItems.size());
@@ -108,6 +114,114 @@ public class ItemServiceIntegrationTest {
         assertEquals(itemDtoOut2.getName(), userItems.get(1).getName());
     }
 
+    @Test
+    void getAllUserItemsWithoutSizeTest() {
+        UserDto addedUser = userService.addUser(createUserDto("user9", "user9@example.com"));
+        for (int i = 0; i <= Constant.OWNER_ITEMS_PAGE_SIZE; i++) {
+            itemService.addItem(createItemDto("item9 name " + i, "item9 description " + i, true),
+                    addedUser.getId());
+        }
+
+        List<ItemResponseDto> userItems = itemService.getAllUserItems(addedUser.getId(), 0L);
+
+        assertEquals(Constant.OWNER_ITEMS_PAGE_SIZE + 1, userItems.size());
+        assertEquals("item9 name 0", userItems.get(0).getName());
+        assertEquals("item9 name " + Constant.OWNER_ITEMS_PAGE_SIZE, userItems.get(userItems.size() - 1).getName());
+    }
+
+    @Test
+    void getAllUserItemsByPagesTest() {
+        UserDto addedUser = userService.addUser(createUserDto("user8", "user8@example.com"));
+        ItemResponseDto firstItem = itemService.addItem(createItemDto("item8 name 1", "item8 description 1", true),
+                addedUser.getId());
+        ItemResponseDto secondItem = itemService.addItem(createItemDto("item8 name 2", "item8 description 2", true),
+                addedUser.getId());
+        ItemResponseDto thirdItem = itemService.addItem(createItemDto("item8 name 3", "item8 description 3", true),
+                addedUser.getId());
+
+        List<ItemResponseDto> firstPage = itemService.getAllUserItems(addedUser.getId(), 0L, 2);
+        List<ItemResponseDto> secondPage = itemService.getAllUserItems(addedUser.getId(),
+                firstPage.get(firstPage.size() - 1).getId(), 2);
+
+        assertEquals(2, firstPage.size());
+        assertEquals(firstItem.getId(), firstPage.get(0).getId());
+        assertEquals(secondItem.getId(), firstPage.get(1).getId());
+        assertEquals(1, secondPage.size());
+        assertEquals(thirdItem.getId(), secondPage.get(0).getId());
+    }
+
+    @Test
+    void getAllUserItemsWithLastAndNextBookingTest() {
+        UserDto owner = userService.addUser(createUserDto("owner7", "owner7@example.com"));
+        UserDto booker = userService.addUser(createUserDto("booker7", "booker7@example.com"));
+        ItemResponseDto bookedItem = itemService.addItem(createItemDto("item7 name 1", "item7 description 1", true),
+                owner.getId());
+        ItemResponseDto freeItem = itemService.addItem(createItemDto("item7 name 2", "item7 description 2", true),
+                owner.getId());
+
+        LocalDateTime now = LocalDateTime.now();
+        BookingOutDto pastBooking = bookingService.create(booker.getId(),
+                new BookItemRequestDto(bookedItem.getId(), now.minusDays(3), now.minusDays(2)));
+        BookingOutDto lastBooking = bookingService.create(booker.getId(),
+                new BookItemRequestDto(bookedItem.getId(), now.minusDays(1), now.plusDays(1)));
+        BookingOutDto nextBooking = bookingService.create(booker.getId(),
+                new BookItemRequestDto(bookedItem.getId(), now.plusDays(2), now.plusDays(3)));
+        BookingOutDto futureBooking = bookingService.create(booker.getId(),
+                new BookItemRequestDto(bookedItem.getId(), now.plusDays(4), now.plusDays(5)));
+        BookingOutDto waitingBooking = bookingService.create(booker.getId(),
+                new BookItemRequestDto(bookedItem.getId(), now.plusDays(1).plusHours(1),
+                        now.plusDays(1).plusHours(2)));
+        bookingService.update(owner.getId(), pastBooking.getId(), true);
+        bookingService.update(owner.getId(), lastBooking.getId(), true);
+        bookingService.update(owner.getId(), nextBooking.getId(), true);
+        bookingService.update(owner.getId(), futureBooking.getId(), true);
+
+        List<ItemResponseDto> userItems = itemService.getAllUserItems(owner.getId(), 0L, 100);
+
+        assertEquals(2, userItems.size());
+        assertEquals(bookedItem.getId(), userItems.get(0).getId());
+        assertEquals(lastBooking.getId(), userItems.get(0).getLastBooking().getId());
+        assertEquals(booker.getId(), userItems.get(0).getLastBooking().getBookerId());
+        assertEquals(nextBooking.getId(), userItems.get(0).getNextBooking().getId());
+        assertNotEquals(waitingBooking.getId(), userItems.get(0).getNextBooking().getId());
+        assertEquals(freeItem.getId(), userItems.get(1).getId());
+        assertNull(userItems.get(1).getLastBooking());
+        assertNull(userItems.get(1).getNextBooking());
+    }
+
+    @Test
+    void getAvailabilityTest() {
+        UserDto owner = userService.addUser(createUserDto("owner8", "owner8@example.com"));
+        UserDto booker = userService.addUser(createUserDto("booker8", "booker8@example.com"));
+        ItemResponseDto item = itemService.addItem(createItemDto("item8 name", "item8 description", true),
+                owner.getId());
+
+        LocalDateTime from = LocalDateTime.now().plusDays(1).withNano(0);
+        BookingOutDto approved = bookingService.create(booker.getId(),
+                new BookItemRequestDto(item.getId(), from.plusHours(1), from.plusHours(2)));
+        BookingOutDto rejected = bookingService.create(booker.getId(),
+                new BookItemRequestDto(item.getId(), from.plusHours(3), from.plusHours(4)));
+        bookingService.create(booker.getId(),
+                new BookItemRequestDto(item.getId(), from.plusHours(5), from.plusHours(6)));
+        bookingService.update(owner.getId(), approved.getId(), true);
+        bookingService.update(owner.getId(), rejected.getId(), false);
+
+        ItemAvailabilityDto availability = itemService.getAvailability(item.getId(), booker.getId(), from,
+                from.plusHours(8));
+
+        assertEquals(List.of(
+                new ItemAvailabilityDto.Interval(from.plusHours(1), from.plusHours(2), Status.APPROVED),
+                new ItemAvailabilityDto.Interval(from.plusHours(5), from.plusHours(6), Status.WAITING)
+        ), availability.getBusy());
+        assertEquals(List.of(
+                new ItemAvailabilityDto.Interval(from, from.plusHours(1), null),
+                new ItemAvailabilityDto.Interval(from.plusHours(2), from.plusHours(5), null),
+                new ItemAvailabilityDto.Interval(from.plusHours(6), from.plusHours(8), null)
+        ), availability.getFree());
+        assertThrows(ValidationException.class,
+                () -> itemService.getAvailability(item.getId(), booker.getId(), from, from));
+    }
+
     @Test
     void getAvailableItemBySearchTest() {
         UserDto addedUser = userService.addUser(createUserDto("user5", "user5@example.com"));
@@ -121,13 +235,23 @@ public class ItemServiceIntegrationTest {
 
         String searchText = "item5";
 
-        List<ItemResponseDto> availableItems = itemService.getAvailableItemBySearch(searchText, addedUser.getId());
+        List<ItemResponseDto> availableItems = itemService.getAvailableItemBySearch(searchText, addedUser.getId(), 0, 10);
 
         assertNotNull(availableItems);
         assertEquals(2, availableItems.size());
 
         assertEquals(itemDtoOut1.getName(), availableItems.get(0).getName());
         assertEquals(itemDtoOut2.getName(), availableItems.get(1).getName());
+
+        List<ItemResponseDto> secondPage = itemService.getAvailableItemBySearch(searchText, addedUser.getId(), 1, 1);
+
+        assertEquals(1, secondPage.size());
+        assertEquals(itemDtoOut2.getName(), secondPage.get(0).getName());
+
+        List<ItemResponseDto> allAfterFirst = itemService.getAvailableItemBySearch(searchText, addedUser.getId(), 1);
+
+        assertEquals(1, allAfterFirst.size());
+        assertEquals(itemDtoOut2.getName(), allAfterFirst.get(0).getName());
     }
 
     @Test
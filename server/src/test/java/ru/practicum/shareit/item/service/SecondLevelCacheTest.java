@@ -0,0 +1,128 @@
+package ru.practicum.shareit.item.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.dto.ItemDtoOut;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.Constant;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getItemById_whenItemUpdated_ReturnsNewState() {
+        Long ownerId = userService.addUser(new UserDto(null, "owner", "cache-owner1@email.com")).getId();
+        Long itemId = itemService.addItem(new ItemDtoOut(null, "drill", "cordless drill", true, null), ownerId)
+                .getId();
+
+        itemService.getItemById(itemId, ownerId);
+        itemService.getItemById(itemId, ownerId);
+        assertTrue(statistics.getDomainDataRegionStatistics(Constant.ITEM_REGION).getHitCount() > 0);
+
+        itemService.updateItem(itemId, new ItemDtoOut(null, "hammer drill", null, false, null), ownerId);
+
+        assertEquals("hammer drill", itemService.getItemById(itemId, ownerId).getName());
+        assertFalse(itemService.getItemById(itemId, ownerId).getAvailable());
+    }
+
+    @Test
+    void getUserById_whenUserUpdated_ReturnsNewState() {
+        Long userId = userService.addUser(new UserDto(null, "name", "cache-user@email.com")).getId();
+        userService.getUserById(userId);
+        userService.getUserById(userId);
+        assertTrue(statistics.getDomainDataRegionStatistics(Constant.USER_REGION).getHitCount() > 0);
+
+        userService.updateUser(new UserDto(null, "new name", null), userId);
+
+        assertEquals("new name", userService.getUserById(userId).getName());
+        assertEquals("cache-user@email.com", userService.getUserById(userId).getEmail());
+    }
+
+    @Test
+    void getAllUserItems_whenItemUpdated_ReturnsNewState() {
+        Long ownerId = userService.addUser(new UserDto(null, "owner", "cache-owner3@email.com")).getId();
+        Long itemId = itemService.addItem(new ItemDtoOut(null, "drill", "cordless drill", true, null), ownerId)
+                .getId();
+
+        assertEquals(List.of("drill"), ownerItemNames(ownerId));
+        assertEquals(List.of("drill"), ownerItemNames(ownerId));
+        assertTrue(statistics.getQueryRegionStatistics(Constant.ITEMS_BY_OWNER_REGION).getHitCount() > 0);
+
+        itemService.updateItem(itemId, new ItemDtoOut(null, "hammer drill", null, null, null), ownerId);
+
+        assertEquals(List.of("hammer drill"), ownerItemNames(ownerId));
+    }
+
+    @Test
+    void getAllUserItems_whenRequestorDeleted_DropsCascadedItems() {
+        Long ownerId = userService.addUser(new UserDto(null, "owner", "cache-owner2@email.com")).getId();
+        Long requestorId = userService.addUser(new UserDto(null, "requestor", "cache-requestor@email.com")).getId();
+        ItemRequestDto requestDto = new ItemRequestDto();
+        requestDto.setDescription("need a ladder");
+        Long requestId = itemRequestService.addNewRequest(requestDto, requestorId).getId();
+        Long answerId = itemService.addItem(new ItemDtoOut(null, "ladder", "3 m ladder", true, requestId), ownerId)
+                .getId();
+        Long otherId = itemService.addItem(new ItemDtoOut(null, "rope", "10 m rope", true, null), ownerId).getId();
+
+        assertEquals(List.of(answerId, otherId), ownerItemIds(ownerId));
+        assertEquals(List.of(answerId, otherId), ownerItemIds(ownerId));
+        assertTrue(statistics.getQueryRegionStatistics(Constant.ITEMS_BY_OWNER_REGION).getHitCount() > 0);
+
+        userService.deleteUser(requestorId);
+
+        assertEquals(List.of(otherId), ownerItemIds(ownerId));
+        assertTrue(itemRepository.findById(answerId).isEmpty());
+    }
+
+    private List<Long> ownerItemIds(Long ownerId) {
+        return itemService.getAllUserItems(ownerId, 0L, 10).stream()
+                .map(ItemResponseDto::getId)
+                .collect(Collectors.toList());
+    }
+
+    private List<String> ownerItemNames(Long ownerId) {
+        return itemService.getAllUserItems(ownerId, 0L, 10).stream()
+                .map(ItemResponseDto::getName)
+                .collect(Collectors.toList());
+    }
+}
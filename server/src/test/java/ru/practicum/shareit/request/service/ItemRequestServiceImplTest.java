@@ -119,6 +119,8 @@ class ItemRequestServiceImplTest {
 
         ItemRequestResponseDto actual = itemRequestService.getRequestById(userId, requestId);
 
+        verify(itemRepository).findAllByRequest_Id(requestId);
+
         assertNotNull(actual);
         assertEquals(itemRequest.getId(), actual.getId());
         assertEquals(itemRequest.getDescription(), actual.getDescription());
@@ -203,6 +205,33 @@ class ItemRequestServiceImplTest {
         assertEquals("Description 2", actual.get(1).getDescription());
     }
 
+    @Test
+    void getAllRequests_whenRequestsHaveAnswers_thenLoadAnswersInOneQuery() {
+        Long userId = user2.getId();
+        Integer from = 0;
+        Integer size = 10;
+
+        ItemRequest firstRequest = createItemRequest(10L, "Description 1");
+        ItemRequest secondRequest = createItemRequest(20L, "Description 2");
+        item.setRequest(secondRequest);
+
+        Pageable pageable = PageRequest.of(from / size, size, Constant.SORT_BY_CREATED_ASC);
+        Page<ItemRequest> itemRequestPage = mock(Page.class);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user2));
+        when(itemRequestRepository.findAllByRequestorIdIsNot(userId, pageable)).thenReturn(itemRequestPage);
+        when(itemRequestPage.stream()).thenReturn(List.of(firstRequest, secondRequest).stream());
+        when(itemRepository.findAllByRequest_IdIn(List.of(10L, 20L))).thenReturn(List.of(item));
+
+        List<ItemRequestResponseDto> actual = itemRequestService.getAllRequests(userId, from, size);
+
+        assertEquals(2, actual.size());
+        assertTrue(actual.get(0).getItems().isEmpty());
+        assertEquals(1, actual.get(1).getItems().size());
+        assertEquals(item.getId(), actual.get(1).getItems().get(0).getId());
+        verify(itemRepository, times(1)).findAllByRequest_IdIn(anyCollection());
+        verify(itemRepository, never()).findAllByRequest_Id(anyLong());
+    }
+
     @Test
     void getAllRequestsWithUserNotFoundTest() {
         Long userId = 999L;
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.user.service;
 
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -7,7 +9,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.BookingIntervalIndex;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.service.ItemBookingTracker;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
@@ -19,6 +26,7 @@ import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +35,21 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private ItemBookingTracker itemBookingTracker;
+
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -130,8 +153,16 @@ class UserServiceImplTest {
         Long userId = 1L;
 
         when(userRepository.existsById(userId)).thenReturn(true);
+        when(sessionFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(cache);
 
         assertDoesNotThrow(() -> userService.deleteUser(userId));
+        verify(itemBookingTracker).onBookerDeleted(userId);
+        verify(bookingIntervalIndex).onUserDeleted(userId);
+        verify(itemSearchEngine).onUserDeleted(userId);
+        verify(cache).evictEntityData(Item.class);
+        verify(cache).evictEntityData(ItemRequest.class);
+        verify(cache).evictQueryRegions();
     }
 
     @Test
@@ -1,15 +1,19 @@
 package ru.practicum.shareit.user.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.practicum.shareit.util.Constant.USER_EXISTS_CACHE;
 
 @Transactional
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
@@ -18,6 +22,15 @@ public class UserServiceIntegrationTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private final UserDto userDto;
 
     public UserServiceIntegrationTest() {
@@ -42,4 +55,41 @@ public class UserServiceIntegrationTest {
         Assertions
                 .assertThrows(ObjectNotFoundException.class, () -> userService.getUserById(userId));
     }
+
+    @Test
+    void countById_whenCalledTwice_thenSecondCallHitsCache() {
+        Long userId = userService.addUser(userDto).getId();
+
+        userRepository.countById(userId);
+        userRepository.countById(userId);
+
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tags("cache", USER_EXISTS_CACHE, "result", "hit")
+                .functionCounter().count());
+        assertNotNull(cacheManager.getCache(USER_EXISTS_CACHE).get(userId));
+    }
+
+    @Test
+    void updateUser_thenReturnsNewState() {
+        Long userId = userService.addUser(userDto).getId();
+        userService.getUserById(userId);
+
+        UserDto update = new UserDto();
+        update.setName("updated");
+        userService.updateUser(update, userId);
+
+        assertEquals("updated", userService.getUserById(userId).getName());
+    }
+
+    @Test
+    void deleteUser_thenEvictCachedUser() {
+        Long userId = userService.addUser(userDto).getId();
+        userRepository.countById(userId);
+
+        userService.deleteUser(userId);
+
+        assertNull(cacheManager.getCache(USER_EXISTS_CACHE).get(userId));
+
+        assertThrows(ObjectNotFoundException.class, () -> userService.getUserById(userId));
+    }
 }
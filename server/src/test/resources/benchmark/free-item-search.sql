@@ -0,0 +1,80 @@
+-- Compares text search followed by per-item availability checks with the combined anti-join search
+-- on 1M items and 10M bookings. Run against a scratch PostgreSQL database after the server has
+-- created the schema (loading takes a few minutes):
+--   psql -h localhost -p 6541 -U root -d shareit -f free-item-search.sql
+
+\timing on
+
+INSERT INTO users (name, email)
+SELECT 'bench owner ' || g, 'bench-owner-' || g || '@example.com'
+FROM generate_series(1, 1000) g;
+
+-- user ids come from a sequence with gaps, so owners are matched to the generated rows by rank
+INSERT INTO items (name, description, available, owner_id)
+SELECT 'item ' || md5(g::text),
+       'description ' || md5((g * 7)::text) || CASE WHEN g % 100 = 0 THEN ' cordless drill' ELSE '' END,
+       g % 10 <> 0,
+       o.id
+FROM generate_series(1, 1000000) g
+JOIN (SELECT id, ROW_NUMBER() OVER (ORDER BY id) - 1 AS n
+      FROM users
+      WHERE email LIKE 'bench-owner-%@example.com') o ON o.n = g % 1000;
+
+-- ten non-overlapping two-day bookings per item, a week apart and shifted by item so that
+-- roughly half of the items are busy in the searched window
+INSERT INTO bookings (start_date, end_date, item_id, booker_id, status)
+SELECT TIMESTAMP '2030-01-01' + (k * 7 + i.id % 4) * INTERVAL '1 day',
+       TIMESTAMP '2030-01-03' + (k * 7 + i.id % 4) * INTERVAL '1 day',
+       i.id,
+       (SELECT MIN(id) FROM users WHERE email LIKE 'bench-owner-%'),
+       CASE WHEN k % 3 = 0 THEN 'REJECTED' WHEN k % 3 = 1 THEN 'WAITING' ELSE 'APPROVED' END
+FROM items i
+CROSS JOIN generate_series(0, 9) k
+WHERE i.name LIKE 'item %' AND i.description LIKE 'description %';
+
+ANALYZE items;
+ANALYZE bookings;
+
+-- before: one search page, then one availability query per result (100 round trips from the client)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM items i
+WHERE (LOWER(i.name) LIKE LOWER(CONCAT('%', 'drill', '%'))
+    OR LOWER(i.description) LIKE LOWER(CONCAT('%', 'drill', '%')))
+  AND i.available = true
+ORDER BY i.id ASC
+LIMIT 100;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COUNT(b) > 0 FROM bookings b
+WHERE b.item_id = (SELECT MIN(id) FROM items WHERE description LIKE '% cordless drill')
+  AND b.status IN ('WAITING', 'APPROVED')
+  AND b.start_date < TIMESTAMP '2030-01-16 12:00' AND b.end_date > TIMESTAMP '2030-01-15 12:00';
+
+-- after, LIKE engine: the anti-join probes idx_bookings_item_status_start once per candidate
+-- and the page is filled with free items only
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM items i
+WHERE (LOWER(i.name) LIKE LOWER(CONCAT('%', 'drill', '%'))
+    OR LOWER(i.description) LIKE LOWER(CONCAT('%', 'drill', '%')))
+  AND i.available = true
+  AND NOT EXISTS (SELECT b.id FROM bookings b WHERE b.item_id = i.id
+                  AND b.status IN ('WAITING', 'APPROVED')
+                  AND b.start_date < TIMESTAMP '2030-01-16 12:00' AND b.end_date > TIMESTAMP '2030-01-15 12:00')
+ORDER BY i.id ASC
+LIMIT 100;
+
+-- after, trigram engine
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM items i
+WHERE i.available = true
+  AND (LOWER(i.name) LIKE CONCAT('%', LOWER('drill'), '%')
+    OR LOWER(i.description) LIKE CONCAT('%', LOWER('drill'), '%'))
+  AND NOT EXISTS (SELECT 1 FROM bookings b WHERE b.item_id = i.id
+                  AND b.status IN ('WAITING', 'APPROVED')
+                  AND b.start_date < TIMESTAMP '2030-01-16 12:00' AND b.end_date > TIMESTAMP '2030-01-15 12:00')
+ORDER BY GREATEST(word_similarity(LOWER('drill'), LOWER(i.name)) * 2,
+                  word_similarity(LOWER('drill'), LOWER(i.description))) DESC, i.id ASC
+LIMIT 100;
+
+DELETE FROM items WHERE owner_id IN (SELECT id FROM users WHERE email LIKE 'bench-owner-%@example.com');
+DELETE FROM users WHERE email LIKE 'bench-owner-%@example.com';
@@ -0,0 +1,46 @@
+-- Compares the LIKE search with the trigram-ranked search on PostgreSQL.
+-- Run against a scratch database after the server has created the schema:
+--   psql -h localhost -p 6541 -U root -d shareit -f item-search.sql
+
+\timing on
+
+INSERT INTO users (name, email)
+SELECT 'bench owner ' || g, 'bench-owner-' || g || '@example.com'
+FROM generate_series(1, 1000) g;
+
+-- user ids come from a sequence with gaps, so owners are matched to the generated rows by rank
+INSERT INTO items (name, description, available, owner_id)
+SELECT 'item ' || md5(g::text),
+       'description ' || md5((g * 7)::text) || CASE WHEN g % 1000 = 0 THEN ' cordless drill' ELSE '' END,
+       g % 10 <> 0,
+       o.id
+FROM generate_series(1, 500000) g
+JOIN (SELECT id, ROW_NUMBER() OVER (ORDER BY id) - 1 AS n
+      FROM users
+      WHERE email LIKE 'bench-owner-%@example.com') o ON o.n = g % 1000;
+
+ANALYZE items;
+
+-- current LIKE query as it ran before the trigram indexes (bitmap scans disabled to reproduce that plan)
+SET enable_bitmapscan = off;
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM items i
+WHERE (LOWER(i.name) LIKE LOWER(CONCAT('%', 'drill', '%'))
+    OR LOWER(i.description) LIKE LOWER(CONCAT('%', 'drill', '%')))
+  AND i.available = true
+ORDER BY i.id ASC
+LIMIT 100;
+RESET enable_bitmapscan;
+
+-- trigram engine: bitmap scan over idx_items_name_trgm / idx_items_description_trgm
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM items i
+WHERE i.available = true
+  AND (LOWER(i.name) LIKE CONCAT('%', LOWER('drill'), '%')
+    OR LOWER(i.description) LIKE CONCAT('%', LOWER('drill'), '%'))
+ORDER BY GREATEST(word_similarity(LOWER('drill'), LOWER(i.name)) * 2,
+                  word_similarity(LOWER('drill'), LOWER(i.description))) DESC, i.id ASC
+LIMIT 100;
+
+DELETE FROM items WHERE owner_id IN (SELECT id FROM users WHERE email LIKE 'bench-owner-%@example.com');
+DELETE FROM users WHERE email LIKE 'bench-owner-%@example.com';